@@ -4,6 +4,7 @@ import com.elepy.ElepyExtension;
 import com.elepy.ElepyPostConfiguration;
 import com.elepy.exceptions.ElepyConfigException;
 import com.elepy.http.HttpService;
+import com.elepy.http.StaticAsset;
 import org.apache.commons.io.IOUtils;
 
 import java.io.File;
@@ -16,10 +17,21 @@ import java.nio.file.Paths;
 import java.util.*;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
+/**
+ * Serves the admin frontend. The files are loaded into memory once, with gzipped variants.
+ * <p>
+ * The build gives JS and CSS files a content hash in their name, so they can be cached forever.
+ * Other files, like index.html, are revalidated with their ETag.
+ */
 public class FrontendLoader implements ElepyExtension {
 
+    private static final Pattern HASHED_NAME = Pattern.compile(".*[.-][0-9a-f]{8,}\\.(js|css)$");
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE = "no-cache";
+
     @Override
     public void setup(HttpService http, ElepyPostConfiguration elepy) {
 
@@ -54,7 +66,13 @@ public class FrontendLoader implements ElepyExtension {
                             ".css"
                     )
             ).flatMap(s -> s)
-                    .forEach(resource -> http.staticFile(resource.getPath(), resource.getLocation(), resource.getContentType(), true));
+                    .forEach(resource -> http.staticFile(resource.getPath(), StaticAsset.fromResource(
+                            getClass().getClassLoader(),
+                            resource.getLocation(),
+                            resource.getContentType(),
+                            HASHED_NAME.matcher(resource.getLocation()).matches() ? IMMUTABLE : REVALIDATE,
+                            true
+                    )));
         } catch (IOException | URISyntaxException e) {
             throw new RuntimeException(e);
         }
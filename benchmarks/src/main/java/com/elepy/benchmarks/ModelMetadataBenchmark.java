@@ -0,0 +1,140 @@
+package com.elepy.benchmarks;
+
+import com.elepy.annotations.Identifier;
+import com.elepy.annotations.Searchable;
+import com.elepy.annotations.Unique;
+import com.elepy.models.ModelMetadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading the id and the unique fields of a model through {@link ModelMetadata} with the
+ * reflective lookups that ReflectionUtils used to do for every item.
+ * <p>
+ * Run with: <code>mvn -Pbenchmarks -pl core,benchmarks package && java -jar benchmarks/target/benchmarks.jar ModelMetadata</code>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelMetadataBenchmark {
+
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        product = new Product();
+        product.id = "a1b2c3";
+        product.sku = "SKU-1";
+        product.name = "Product";
+    }
+
+    @Benchmark
+    public Serializable id_reflective() throws IllegalAccessException {
+        final Field field = reflectiveIdField(product.getClass());
+        field.setAccessible(true);
+        return (Serializable) field.get(product);
+    }
+
+    @Benchmark
+    public Serializable id_metadata() {
+        return ModelMetadata.of(product.getClass()).getId(product).orElseThrow();
+    }
+
+    @Benchmark
+    public void uniqueValues_reflective(Blackhole blackhole) throws IllegalAccessException {
+        for (Field field : reflectiveUniqueFields(product.getClass())) {
+            field.setAccessible(true);
+            blackhole.consume(field.get(product));
+        }
+    }
+
+    @Benchmark
+    public void uniqueValues_metadata(Blackhole blackhole) {
+        final ModelMetadata metadata = ModelMetadata.of(product.getClass());
+
+        for (Field field : metadata.getUniqueFields()) {
+            blackhole.consume(metadata.accessor(field).get(product));
+        }
+    }
+
+    @Benchmark
+    public Product setId_reflective() throws IllegalAccessException {
+        final Field field = reflectiveIdField(product.getClass());
+        field.setAccessible(true);
+        field.set(product, "d4e5f6");
+        return product;
+    }
+
+    @Benchmark
+    public Product setId_metadata() {
+        ModelMetadata.of(product.getClass()).setId(product, "d4e5f6");
+        return product;
+    }
+
+    // The lookups as they were done before ModelMetadata, on every call
+
+    private static Field reflectiveIdField(Class<?> cls) {
+        for (Class<?> type = cls; type != null; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                field.setAccessible(true);
+                if (field.isAnnotationPresent(Identifier.class)) {
+                    return field;
+                }
+            }
+        }
+        throw new IllegalStateException("No id field");
+    }
+
+    private static List<Field> reflectiveUniqueFields(Class<?> cls) {
+        final List<Field> fields = new ArrayList<>();
+        for (Class<?> type = cls; type != null && !type.equals(Object.class); type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                field.setAccessible(true);
+                if (field.isAnnotationPresent(Unique.class)) {
+                    fields.add(field);
+                }
+            }
+        }
+        fields.add(reflectiveIdField(cls));
+        return fields;
+    }
+
+    public static class Item {
+        @Identifier
+        String id;
+
+        String createdBy;
+
+        long createdAt;
+    }
+
+    public static class Product extends Item {
+        @Unique
+        String sku;
+
+        @Searchable
+        String name;
+
+        String description;
+
+        int stock;
+    }
+}
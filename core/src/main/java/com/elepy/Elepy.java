@@ -11,11 +11,13 @@ import com.elepy.di.ElepyContext;
 import com.elepy.evaluators.ObjectEvaluator;
 import com.elepy.evaluators.PrettyNodeNameProvider;
 import com.elepy.exceptions.ElepyConfigException;
+import com.elepy.exceptions.BulkWriteException;
 import com.elepy.exceptions.ElepyErrorMessage;
 import com.elepy.exceptions.ErrorMessageBuilder;
 import com.elepy.exceptions.Message;
 import com.elepy.http.HttpService;
 import com.elepy.http.HttpServiceConfiguration;
+import com.elepy.http.ResponseCompression;
 import com.elepy.http.Route;
 import com.elepy.igniters.ModelEngine;
 import com.elepy.models.ModelChange;
@@ -392,6 +394,19 @@ public class Elepy implements ElepyContext {
         return this;
     }
 
+    /**
+     * Changes how responses are compressed, such as the minimum size and the Content-Types that get compressed.
+     * Use {@code new ResponseCompression().enabled(false)} to turn compression off.
+     *
+     * @param compression the compression of responses
+     * @return The {@link com.elepy.Elepy} instance
+     */
+    public Elepy withResponseCompression(ResponseCompression compression) {
+        checkConfig();
+        http.compression(compression);
+        return this;
+    }
+
     /**
      * Changes the URI for the configuration of the Elepy instance.
      * This is where Elepy describes it's models
@@ -678,12 +693,13 @@ public class Elepy implements ElepyContext {
             request.attribute("elepyContext", this);
             request.attribute("schemas", this.schemas());
             request.attribute("start", System.currentTimeMillis());
-        });
-        http.after((request, response) -> {
+
+            //Set before the handlers run, as streamed responses are committed before the after filters
             response.header("Access-Control-Allow-Origin", "*");
             response.header("Access-Control-Allow-Methods", "POST, PUT, DELETE");
             response.header("Access-Control-Allow-Headers", "Content-Type, Access-Control-Allow-Origin");
-
+        });
+        http.after((request, response) -> {
             if (!request.method().equalsIgnoreCase("OPTIONS") && response.status() != 404)
                 logger.debug(String.format("%s\t['%s']: %dms", request.method(), request.uri(), System.currentTimeMillis() - ((Long) request.attribute("start"))));
         });
@@ -710,7 +726,11 @@ public class Elepy implements ElepyContext {
             context.type("application/json");
 
             context.status(elepyErrorMessage.getStatus());
-            context.result(Message.of(elepyErrorMessage.getMessage(), elepyErrorMessage.getStatus()));
+            final Message message = Message.of(elepyErrorMessage.getMessage(), elepyErrorMessage.getStatus());
+            if (elepyErrorMessage instanceof BulkWriteException) {
+                message.withProperty("failures", ((BulkWriteException) elepyErrorMessage).getFailures());
+            }
+            context.result(message);
 
         });
     }
@@ -0,0 +1,20 @@
+package com.elepy.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Sets the Cache-Control header of the find responses of this {@link Model}.
+ * <p>
+ * Find responses have an ETag either way, so clients can revalidate them cheaply. The default, "no-cache",
+ * makes clients revalidate on every use. A value like "private, max-age=60" lets them skip requests for a minute.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+@Inherited
+public @interface CacheControl {
+
+    /**
+     * @return The value of the Cache-Control header
+     */
+    String value() default "no-cache";
+}
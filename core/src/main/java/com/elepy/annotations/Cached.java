@@ -0,0 +1,28 @@
+package com.elepy.annotations;
+
+import com.elepy.dao.CachingCrud;
+
+import java.lang.annotation.*;
+
+/**
+ * Caches the records of this {@link Model} by id, for models that are read far more often than they are written.
+ * Writes through Elepy invalidate the cached records. Writes that bypass Elepy, like other instances sharing
+ * the same database, are only seen when the cached records expire.
+ *
+ * @see CachingCrud
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+@Inherited
+public @interface Cached {
+
+    /**
+     * @return The amount of seconds a record is cached for
+     */
+    long expireAfterSeconds() default 300;
+
+    /**
+     * @return The maximum amount of records to cache. The least recently used records are evicted first.
+     */
+    long maximumSize() default 10_000;
+}
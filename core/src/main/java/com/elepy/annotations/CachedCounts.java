@@ -0,0 +1,27 @@
+package com.elepy.annotations;
+
+import com.elepy.dao.CountCachingCrud;
+
+import java.lang.annotation.*;
+
+/**
+ * Caches the counts of this {@link Model} per query, until a write goes through its Crud or until they expire.
+ * Writes that bypass Elepy, like other instances sharing the same database, are only seen when the counts expire.
+ *
+ * @see CountCachingCrud
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+@Inherited
+public @interface CachedCounts {
+
+    /**
+     * @return The amount of seconds a count is cached for
+     */
+    long expireAfterSeconds() default 60;
+
+    /**
+     * @return The maximum amount of distinct queries to cache counts for
+     */
+    long maximumSize() default 1000;
+}
@@ -9,6 +9,9 @@ import java.lang.annotation.*;
  *
  * @see com.elepy.id.HexIdentityProvider
  * @see com.elepy.id.SlugIdentityProvider
+ * @see com.elepy.id.UlidIdentityProvider
+ * @see com.elepy.id.SnowflakeIdentityProvider
+ * @see com.elepy.id.HiLoIdentityProvider
  * @see IdentityProvider
  */
 @Retention(RetentionPolicy.RUNTIME)
@@ -12,4 +12,13 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.FIELD})
 public @interface Unique {
+
+    /**
+     * Whether the database should also enforce this with a unique index, for backends that create their own indexes.
+     * Without it, items created at the same time are only checked before they are written, so both can be stored.
+     * <p>
+     * The index can't be created if the collection already holds duplicates, and items without a value count as
+     * duplicates of each other.
+     */
+    boolean indexed() default false;
 }
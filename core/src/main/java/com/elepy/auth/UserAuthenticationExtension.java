@@ -58,8 +58,8 @@ public class UserAuthenticationExtension implements ElepyExtension {
 
             final var merged = objectMapper.readerForUpdating(grantTree).readValue(userTree);
 
-            ctx.response().json(merged);
             ctx.response().header("Vary", "*");
+            ctx.response().json(merged);
         });
 
         http.post("/elepy/token-login", (request, response) -> {
@@ -7,8 +7,7 @@ import com.elepy.dao.Crud;
 import com.elepy.handlers.DefaultFindMany;
 import com.elepy.http.HttpContext;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.stream.Stream;
 
 public class RolesFind extends DefaultFindMany<Role> {
 
@@ -16,11 +15,11 @@ public class RolesFind extends DefaultFindMany<Role> {
     private Policy policy;
 
     @Override
-    public List<Role> find(HttpContext context, Crud<Role> dao) {
-        final var roles = new ArrayList<>(policy.getPredefinedRoles());
+    public Stream<? extends Role> stream(HttpContext context, Crud<Role> dao) {
+        final var roles = policy.getPredefinedRoles().stream();
 
         if (context.queryParams("ids") == null)
-            roles.addAll(super.find(context, dao));
+            return Stream.concat(roles, super.stream(context, dao));
         return roles;
     }
 
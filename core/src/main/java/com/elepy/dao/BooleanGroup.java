@@ -38,6 +38,14 @@ public class BooleanGroup extends Expression {
         return this.getExpressions().isEmpty();
     }
 
+    @Override
+    public BooleanGroup copy() {
+        final BooleanGroup copy = new BooleanGroup();
+        copy.setOperator(operator);
+        copy.setExpressions(expressions.stream().map(Expression::copy).collect(Collectors.toList()));
+        return copy;
+    }
+
 
     public enum BooleanOperator{
         AND, OR
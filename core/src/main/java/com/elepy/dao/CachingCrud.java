@@ -0,0 +1,146 @@
+package com.elepy.dao;
+
+import com.elepy.exceptions.ElepyException;
+import com.elepy.utils.ReflectionUtils;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A read-through cache of records by id, bounded in size and time. Writes through this Crud
+ * invalidate the records they touch, writes by expression invalidate the whole cache.
+ * <p>
+ * Cached records are shallowly copied when they are handed out, so callers can't change the cached fields.
+ * Enable it with {@link com.elepy.annotations.Cached}, or wrap the Crud of a custom {@link CrudFactory}.
+ *
+ * @param <T> The type of the Model
+ */
+public class CachingCrud<T> extends CrudDecorator<T> {
+
+    private final Cache<String, T> records;
+
+    // Bumped on every invalidation, so that a read that raced with a write doesn't cache what it read
+    private final AtomicLong generation = new AtomicLong();
+
+    public CachingCrud(Crud<T> crud, long expireAfterSeconds, long maximumSize) {
+        super(crud);
+        this.records = CacheBuilder.newBuilder()
+                .expireAfterWrite(expireAfterSeconds, TimeUnit.SECONDS)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Optional<T> getById(Serializable id) {
+        if (id == null) {
+            return crud.getById(null);
+        }
+        final T cached = records.getIfPresent(key(id));
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+
+        final long readGeneration = generation.get();
+        final Optional<T> item = crud.getById(id);
+        item.ifPresent(found -> cache(readGeneration, id, found));
+        return item;
+    }
+
+    @Override
+    public List<T> getByIds(Iterable<? extends Serializable> ids) {
+        final List<Serializable> requested = new ArrayList<>();
+        final List<Serializable> missing = new ArrayList<>();
+        final Map<String, T> found = new HashMap<>();
+
+        for (Serializable id : ids) {
+            requested.add(id);
+            final T cached = records.getIfPresent(key(id));
+            if (cached != null) {
+                found.put(key(id), copy(cached));
+            } else {
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            final long readGeneration = generation.get();
+            for (T item : crud.getByIds(missing)) {
+                final Serializable id = getId(item);
+                cache(readGeneration, id, item);
+                found.put(key(id), item);
+            }
+        }
+
+        final List<T> items = new ArrayList<>();
+        for (Serializable id : requested) {
+            final T item = found.get(key(id));
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    public CacheStats getStats() {
+        return records.stats();
+    }
+
+    @Override
+    protected void invalidate(Serializable id) {
+        generation.incrementAndGet();
+        records.invalidate(key(id));
+    }
+
+    @Override
+    protected void invalidateAll() {
+        generation.incrementAndGet();
+        records.invalidateAll();
+    }
+
+    private void cache(long readGeneration, Serializable id, T item) {
+        final T copy = copy(item);
+        if (generation.get() == readGeneration) {
+            records.put(key(id), copy);
+        }
+    }
+
+    /**
+     * A shallow, field by field copy. Unlike a Jackson round-trip, this keeps fields that aren't serialized.
+     */
+    @SuppressWarnings("unchecked")
+    private T copy(T item) {
+        final Class<T> type = (Class<T>) item.getClass();
+        final var constructor = ReflectionUtils.getEmptyConstructor(type);
+
+        if (constructor.isEmpty()) {
+            return item;
+        }
+        try {
+            constructor.get().setAccessible(true);
+            final T copy = constructor.get().newInstance();
+
+            for (Field field : ReflectionUtils.getAllFields(type)) {
+                if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isFinal(field.getModifiers())) {
+                    field.setAccessible(true);
+                    field.set(copy, field.get(item));
+                }
+            }
+            return copy;
+        } catch (ReflectiveOperationException e) {
+            throw new ElepyException("Failed to copy a cached record", 500, e);
+        }
+    }
+
+    // Ids are compared by their string form, so an Integer and a Long id hit the same record
+    private static String key(Serializable id) {
+        return String.valueOf(id);
+    }
+}
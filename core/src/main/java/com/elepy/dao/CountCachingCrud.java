@@ -0,0 +1,80 @@
+package com.elepy.dao;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Caches counts per normalised query expression. Every write through this Crud clears the cache,
+ * because any write can change any count.
+ *
+ * @param <T> The type of the Model
+ * @see com.elepy.annotations.CachedCounts
+ */
+public class CountCachingCrud<T> extends CrudDecorator<T> {
+
+    private final Cache<String, Long> counts;
+
+    public CountCachingCrud(Crud<T> crud, long expireAfterSeconds, long maximumSize) {
+        super(crud);
+        this.counts = CacheBuilder.newBuilder()
+                .expireAfterWrite(expireAfterSeconds, TimeUnit.SECONDS)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public long count(Query query) {
+        final Long count = counts.getIfPresent(normalise(query.purge().getExpression()));
+
+        if (count != null) {
+            return count;
+        }
+        final long freshCount = crud.count(query);
+        counts.put(normalise(query.getExpression()), freshCount);
+        return freshCount;
+    }
+
+    public CacheStats getStats() {
+        return counts.stats();
+    }
+
+    @Override
+    protected void invalidate(Serializable id) {
+        counts.invalidateAll();
+    }
+
+    @Override
+    protected void invalidateAll() {
+        counts.invalidateAll();
+    }
+
+    /**
+     * A cache key that is the same for equivalent expressions: searches are case insensitive and
+     * the order of the expressions in a boolean group doesn't matter.
+     */
+    static String normalise(Expression expression) {
+        if (expression instanceof Filter) {
+            final Filter filter = (Filter) expression;
+            return String.format("%s %s %s", filter.getPropertyName(), filter.getFilterType().name(), quote(String.valueOf(filter.getFilterValue())));
+        } else if (expression instanceof SearchQuery) {
+            final String term = ((SearchQuery) expression).getTerm();
+            return "search " + quote(term == null ? "" : term.trim().toLowerCase());
+        } else {
+            final BooleanGroup group = (BooleanGroup) expression;
+            return group.getExpressions().stream()
+                    .map(CountCachingCrud::normalise)
+                    .sorted()
+                    .collect(Collectors.joining(", ", group.getOperator().name() + "(", ")"));
+        }
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
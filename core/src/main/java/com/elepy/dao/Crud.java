@@ -3,6 +3,7 @@ package com.elepy.dao;
 import com.elepy.annotations.Model;
 import com.elepy.annotations.Unique;
 import com.elepy.exceptions.ElepyConfigException;
+import com.elepy.models.ModelMetadata;
 import com.elepy.models.Schema;
 import com.elepy.utils.MapperUtils;
 import com.elepy.utils.ReflectionUtils;
@@ -13,6 +14,8 @@ import com.google.common.collect.Lists;
 import java.io.Serializable;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This is the CRUD interface of Elepy. It is the Core of the Data Access Layer. A crud can be anything from
@@ -33,6 +36,27 @@ public interface Crud<T> {
         return find(Queries.create(expression).limit(Optional.ofNullable(limit).orElse(100)));
     }
 
+    /**
+     * Lazily streams the results of a query. Unlike {@link #find(Query)}, the results are not
+     * materialized into a list, which makes this the preferred way of reading large result sets.
+     * <p>
+     * The returned stream can hold on to database resources (cursors, sessions), so it must be closed
+     * after use, preferably with a try-with-resources block.
+     * <p>
+     * The default implementation pages through {@link #find(Query)}. Implementations backed by a
+     * database should override this with a cursor.
+     *
+     * @param query The query to execute
+     * @return A Stream of results, which must be closed after use
+     */
+    default Stream<T> stream(Query query) {
+        return StreamSupport.stream(new PagingSpliterator<>(this, query, PagingSpliterator.DEFAULT_PAGE_SIZE), false);
+    }
+
+    default Stream<T> stream(Expression expression) {
+        return stream(Queries.create(expression));
+    }
+
     /**
      * Queries a database in search of a model item with a specific ID
      *
@@ -72,7 +96,7 @@ public interface Crud<T> {
      * @throws ElepyConfigException gets thrown when no ID has been found
      */
     default Serializable getId(final T item) {
-        Optional<Serializable> id = ReflectionUtils.getId(item);
+        Optional<Serializable> id = ModelMetadata.of(item.getClass()).getId(item);
 
         if (id.isPresent()) {
             return id.get();
@@ -85,6 +109,7 @@ public interface Crud<T> {
      * Updates multiple items in the CRUD.
      *
      * @param items The collection of items you want to update.
+     * @throws com.elepy.exceptions.BulkWriteException when some of the items could not be updated
      */
     default void update(final Iterable<T> items) {
         for (T item : items) {
@@ -93,7 +118,6 @@ public interface Crud<T> {
     }
 
     default void updateWithPrototype(Map<String, Object> prototype, Serializable... ids) {
-        List<T> toUpdate = new ArrayList<>();
 
         // remove unique keys from prototype
         ReflectionUtils
@@ -102,18 +126,48 @@ public interface Crud<T> {
                 .map(ReflectionUtils::getPropertyName)
                 .forEach(prototype::remove);
 
-        for (Serializable id : ids) {
-            getById(id).ifPresent(item -> {
-                final Map<String, Object> beforeMap = getObjectMapper().convertValue(item, new TypeReference<Map<String, Object>>() {
-                });
+        if (ids.length > 0) {
+            patch(Filters.or(Arrays.stream(ids).map(id -> Filters.eq(getSchema().getIdProperty(), id)).collect(Collectors.toList())), prototype);
+        }
+    }
 
-                final T t = MapperUtils.objectFromMaps(getObjectMapper(), beforeMap, prototype, getType());
+    /**
+     * Applies changes to a record, without replacing the whole record. Only the editable, primitive
+     * properties are changed, see {@link MapperUtils#patchableChanges(Map, Class)}.
+     * <p>
+     * Backends push the changes down to the database. The default implementation reads and replaces the record.
+     *
+     * @param id      The ID of the record to change
+     * @param changes The new values by property name
+     * @return The amount of records that matched, 0 or 1
+     */
+    default long patch(Serializable id, Map<String, Object> changes) {
+        return getById(id).map(item -> {
+            update(withChanges(item, changes));
+            return 1L;
+        }).orElse(0L);
+    }
 
-                toUpdate.add(t);
-            });
-        }
+    /**
+     * Applies changes to all records matching an expression, without replacing the whole records.
+     *
+     * @return The amount of records that matched
+     * @see #patch(Serializable, Map)
+     */
+    default long patch(Expression expression, Map<String, Object> changes) {
+        final List<T> toUpdate = find(expression).stream()
+                .map(item -> withChanges(item, changes))
+                .collect(Collectors.toList());
 
         update(toUpdate);
+        return toUpdate.size();
+    }
+
+    private T withChanges(T item, Map<String, Object> changes) {
+        final Map<String, Object> beforeMap = getObjectMapper().convertValue(item, new TypeReference<Map<String, Object>>() {
+        });
+
+        return MapperUtils.objectFromMaps(getObjectMapper(), beforeMap, changes, getType());
     }
 
     /**
@@ -168,6 +222,15 @@ public interface Crud<T> {
         return getSchema().getJavaClass();
     }
 
+    /**
+     * Whether every write to a record increments its {@link javax.persistence.Version} field, including patches
+     * and bulk updates. Records are only revalidated by their version when this is true, otherwise their
+     * content is hashed.
+     */
+    default boolean incrementsVersions() {
+        return false;
+    }
+
     Schema<T> getSchema();
 
 
@@ -0,0 +1,177 @@
+package com.elepy.dao;
+
+import com.elepy.models.Schema;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Base class for Crud decorators. Forwards every operation to the decorated Crud, including the
+ * default methods that backends implement natively.
+ * <p>
+ * Every write is reported after it happened, through {@link #invalidate(Serializable)} when the
+ * written ids are known and through {@link #invalidateAll()} when they aren't.
+ *
+ * @param <T> The type of the Model
+ */
+public abstract class CrudDecorator<T> implements Crud<T> {
+
+    protected final Crud<T> crud;
+
+    protected CrudDecorator(Crud<T> crud) {
+        this.crud = crud;
+    }
+
+    /**
+     * Called after the record with this id has been written.
+     */
+    protected void invalidate(Serializable id) {
+
+    }
+
+    /**
+     * Called after an unknown set of records has been written.
+     */
+    protected void invalidateAll() {
+
+    }
+
+    private void invalidateItems(Iterable<T> items) {
+        items.forEach(item -> invalidate(getId(item)));
+    }
+
+    public Crud<T> getDecorated() {
+        return crud;
+    }
+
+    // Read operations
+
+    @Override
+    public List<T> find(Query query) {
+        return crud.find(query);
+    }
+
+    @Override
+    public Stream<T> stream(Query query) {
+        return crud.stream(query);
+    }
+
+    @Override
+    public Optional<T> getById(Serializable id) {
+        return crud.getById(id);
+    }
+
+    @Override
+    public List<T> getByIds(Iterable<? extends Serializable> ids) {
+        return crud.getByIds(ids);
+    }
+
+    @Override
+    public List<T> getAll() {
+        return crud.getAll();
+    }
+
+    @Override
+    public long count(Query query) {
+        return crud.count(query);
+    }
+
+    @Override
+    public Serializable getId(T item) {
+        return crud.getId(item);
+    }
+
+    @Override
+    public Schema<T> getSchema() {
+        return crud.getSchema();
+    }
+
+    @Override
+    public ObjectMapper getObjectMapper() {
+        return crud.getObjectMapper();
+    }
+
+    @Override
+    public boolean incrementsVersions() {
+        return crud.incrementsVersions();
+    }
+
+    // Write operations
+
+    @Override
+    public void update(T item) {
+        crud.update(item);
+        invalidate(getId(item));
+    }
+
+    @Override
+    public void update(Iterable<T> items) {
+        crud.update(items);
+        invalidateItems(items);
+    }
+
+    @Override
+    public void updateWithPrototype(Map<String, Object> prototype, Serializable... ids) {
+        crud.updateWithPrototype(prototype, ids);
+        for (Serializable id : ids) {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public long patch(Serializable id, Map<String, Object> changes) {
+        final long matched = crud.patch(id, changes);
+        invalidate(id);
+        return matched;
+    }
+
+    @Override
+    public long patch(Expression expression, Map<String, Object> changes) {
+        final long matched = crud.patch(expression, changes);
+        invalidateAll();
+        return matched;
+    }
+
+    @Override
+    public void create(T item) {
+        crud.create(item);
+        invalidate(getId(item));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void create(T... items) {
+        crud.create(items);
+        for (T item : items) {
+            invalidate(getId(item));
+        }
+    }
+
+    @Override
+    public void create(Iterable<T> items) {
+        crud.create(items);
+        invalidateItems(items);
+    }
+
+    @Override
+    public void deleteById(Serializable id) {
+        crud.deleteById(id);
+        invalidate(id);
+    }
+
+    @Override
+    public void delete(Expression expression) {
+        crud.delete(expression);
+        invalidateAll();
+    }
+
+    @Override
+    public void delete(Iterable<Serializable> ids) {
+        crud.delete(ids);
+        ids.forEach(this::invalidate);
+    }
+}
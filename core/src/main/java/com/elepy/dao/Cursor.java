@@ -0,0 +1,185 @@
+package com.elepy.dao;
+
+import com.elepy.exceptions.ElepyException;
+import com.elepy.utils.ReflectionUtils;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.google.common.primitives.Primitives;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.elepy.dao.Filters.and;
+import static com.elepy.dao.Filters.or;
+
+/**
+ * An opaque keyset pagination cursor. It remembers the sort keys of the last record of a page,
+ * so that the next page can be fetched with range predicates instead of an ever growing skip.
+ * <p>
+ * The last key of a cursor is always the id of the record, which makes the ordering total.
+ * Records with empty sort keys can't be used as a cursor.
+ * <p>
+ * Sort keys are stored as typed JSON values: dates as epoch millis and decimals as exact numbers. When a cursor
+ * is decoded, they are converted back to the types of their fields, so the range filters compare the same values
+ * the records hold, regardless of date formats or float precision.
+ */
+public class Cursor {
+
+    /**
+     * The response header in which the cursor to the next page is returned.
+     */
+    public static final String HEADER = "X-Next-Cursor";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .setNodeFactory(JsonNodeFactory.withExactBigDecimals(true))
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    private static final TypeReference<List<Key>> KEYS_TYPE = new TypeReference<>() {
+    };
+
+    private final List<Key> keys;
+    private final List<Serializable> values;
+
+    private Cursor(List<Key> keys, List<Serializable> values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Creates a cursor pointing right after the item, using the sort keys of the query.
+     *
+     * @return The cursor, or empty if one of the sort keys of the item is empty.
+     */
+    public static Optional<Cursor> after(Object item, Query query) {
+        final List<Key> keys = new ArrayList<>();
+        final List<Serializable> values = new ArrayList<>();
+
+        for (Map.Entry<String, SortOption> sort : query.getSortingSpecification().getMap().entrySet()) {
+            final Object value = valueOf(item, sort.getKey());
+
+            if (value == null) {
+                return Optional.empty();
+            }
+            final JsonNode node = MAPPER.valueToTree(value);
+
+            keys.add(new Key(sort.getKey(), sort.getValue(), node));
+            values.add(value instanceof Enum || !(value instanceof Serializable) ? node.asText() : (Serializable) value);
+        }
+
+        return Optional.of(new Cursor(keys, values));
+    }
+
+    /**
+     * Decodes a cursor, converting its sort keys to the types of the properties in the filter plan.
+     */
+    public static Cursor decode(String encoded, FilterPlan filterPlan) {
+        try {
+            final List<Key> keys = MAPPER.readValue(Base64.getUrlDecoder().decode(encoded), KEYS_TYPE);
+            if (keys.isEmpty()) {
+                throw new ElepyException("Invalid cursor", 400);
+            }
+            final List<Serializable> values = new ArrayList<>();
+            for (Key key : keys) {
+                values.add(typedValue(key, filterPlan));
+            }
+            return new Cursor(keys, values);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new ElepyException("Invalid cursor", 400, e);
+        }
+    }
+
+    /**
+     * Converts a key to the type of its field, and then to the type other filter values on the field get.
+     * Enums are filtered on by their names, like other filter values.
+     */
+    private static Serializable typedValue(Key key, FilterPlan filterPlan) {
+        final FilterableField field = filterPlan.find(key.p)
+                .orElseThrow(() -> new ElepyException("Invalid cursor", 400));
+
+        if (key.v == null || !key.v.isValueNode()) {
+            throw new ElepyException("Invalid cursor", 400);
+        }
+        if (field.getField() == null || field.getField().getType().isEnum()) {
+            return key.v.asText();
+        }
+        return field.value((Serializable) MAPPER.convertValue(key.v, Primitives.wrap(field.getField().getType())));
+    }
+
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(keys));
+        } catch (IOException e) {
+            throw new ElepyException("Failed to encode cursor", 500, e);
+        }
+    }
+
+    /**
+     * @return The sort order this cursor was created with. Pages after this cursor must be fetched in the same order.
+     */
+    public SortingSpecification getSortingSpecification() {
+        final SortingSpecification sortingSpecification = new SortingSpecification();
+        keys.forEach(key -> sortingSpecification.add(key.p, key.d));
+        return sortingSpecification;
+    }
+
+    /**
+     * Translates the cursor to range predicates: (a > x) OR (a = x AND b > y) OR (a = x AND b = y AND id > z)
+     */
+    public Expression toExpression() {
+        final List<Expression> ranges = new ArrayList<>();
+
+        for (int i = 0; i < keys.size(); i++) {
+            final List<Expression> predicates = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                predicates.add(new Filter(keys.get(j).p, FilterType.EQUALS, values.get(j)));
+            }
+            final Key key = keys.get(i);
+            predicates.add(new Filter(key.p, key.d == SortOption.ASCENDING ? FilterType.GREATER_THAN : FilterType.LESSER_THAN, values.get(i)));
+
+            ranges.add(predicates.size() == 1 ? predicates.get(0) : and(predicates));
+        }
+        return ranges.size() == 1 ? ranges.get(0) : or(ranges);
+    }
+
+    private static Object valueOf(Object item, String property) {
+        final Field field = ReflectionUtils.getPropertyField(item.getClass(), property);
+
+        if (field == null) {
+            throw new ElepyException(String.format("Can't paginate by unknown property '%s'", property), 400);
+        }
+        try {
+            field.setAccessible(true);
+            return field.get(item);
+        } catch (IllegalAccessException e) {
+            throw new ElepyException("Failed to read property: " + property, 500, e);
+        }
+    }
+
+    private static class Key {
+        public String p;
+        public SortOption d;
+        public JsonNode v;
+
+        public Key() {
+        }
+
+        Key(String p, SortOption d, JsonNode v) {
+            this.p = p;
+            this.d = d;
+            this.v = v;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return encode();
+    }
+}
@@ -9,4 +9,9 @@ public abstract class Expression {
     public void purge(){
 
     }
+
+    /**
+     * @return A deep copy of this expression, which can be changed without changing this expression
+     */
+    public abstract Expression copy();
 } 
@@ -0,0 +1,272 @@
+package com.elepy.dao;
+
+import com.elepy.annotations.Generated;
+import com.elepy.exceptions.ElepyConfigException;
+import com.elepy.exceptions.ElepyException;
+import com.elepy.models.Property;
+import com.elepy.models.Schema;
+import com.elepy.utils.ComparisonUtils;
+import com.elepy.utils.ReflectionUtils;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compiles Expressions to Predicates, to filter Java objects without a database.
+ * <p>
+ * The properties of the schema are read through MethodHandles that are looked up once, and filter values
+ * are converted to the type of their property when the expression is compiled, not for every record.
+ * The semantics are the ones of the Mongo backend: searches and CONTAINS/STARTS_WITH filters are case
+ * insensitive, values that can't be compared never match a range and a filter on a collection matches
+ * when one of its elements matches.
+ * <p>
+ * A compiler is thread safe, and so are the Predicates it compiles.
+ *
+ * @param <T> The type of the Model
+ */
+public class ExpressionCompiler<T> {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final Schema<T> schema;
+    private final Map<String, Function<Object, Object>> accessors = new HashMap<>();
+    private final Map<String, AccessibleObject> members = new HashMap<>();
+    private final List<Function<Object, Object>> searchableAccessors;
+
+    public ExpressionCompiler(Schema<T> schema) {
+        this.schema = schema;
+
+        for (Property property : schema.getProperties()) {
+            member(schema.getJavaClass(), property.getName()).ifPresent(member -> {
+                members.put(property.getName(), member);
+                accessors.put(property.getName(), getter(member, property.getName()));
+            });
+        }
+        this.searchableAccessors = schema.getProperties().stream()
+                .filter(Property::isSearchable)
+                .map(property -> accessors.get(property.getName()))
+                .filter(accessor -> accessor != null)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Compiles an expression once, so that it can be tested against many records.
+     * An empty expression matches every record.
+     */
+    public Predicate<T> compile(Expression expression) {
+        if (expression == null || expression.canBeIgnored()) {
+            return record -> true;
+        }
+        if (expression instanceof Filter) {
+            return filter((Filter) expression);
+        }
+        if (expression instanceof SearchQuery) {
+            return search(((SearchQuery) expression).getTerm());
+        }
+        return booleanGroup((BooleanGroup) expression);
+    }
+
+    public Stream<T> filter(Collection<T> records, Expression expression) {
+        return records.stream().filter(compile(expression));
+    }
+
+    /**
+     * Filters on all cores. Only worth it for large collections, the order of the records is not kept.
+     */
+    public Stream<T> filterParallel(Collection<T> records, Expression expression) {
+        return records.parallelStream().unordered().filter(compile(expression));
+    }
+
+    /**
+     * @return A function that reads the property from a record, or empty if the property isn't backed by a field or a generated method
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<Function<T, Object>> accessor(String property) {
+        return Optional.ofNullable((Function<T, Object>) (Function<?, Object>) accessors.get(property));
+    }
+
+    /**
+     * @return The Java type of the property, or empty if the property isn't backed by a field or a generated method
+     */
+    public Optional<Class<?>> typeOf(String property) {
+        return Optional.ofNullable(members.get(property)).map(ReflectionUtils::returnTypeOf);
+    }
+
+    /**
+     * @return The filter value, converted to the type of the property it filters on
+     */
+    public Serializable filterValue(Filter filter) {
+        return schema.getFilterPlan().get(filter.getPropertyName()).value(filter.getFilterValue());
+    }
+
+    /**
+     * @return The values of an IN filter, or the value of any other filter, converted to the type of the property it filters on
+     */
+    public List<Serializable> filterValues(Filter filter) {
+        return schema.getFilterPlan().get(filter.getPropertyName()).values(filter);
+    }
+
+    private Predicate<T> booleanGroup(BooleanGroup group) {
+        final List<Predicate<T>> predicates = group.getExpressions().stream()
+                .map(this::compile)
+                .collect(Collectors.toList());
+
+        if (group.getOperator() == BooleanGroup.BooleanOperator.AND) {
+            return record -> {
+                for (Predicate<T> predicate : predicates) {
+                    if (!predicate.test(record)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+        return record -> {
+            for (Predicate<T> predicate : predicates) {
+                if (predicate.test(record)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private Predicate<T> search(String term) {
+        final String lowerCaseTerm = term.toLowerCase(Locale.ROOT);
+
+        return record -> {
+            for (Function<Object, Object> accessor : searchableAccessors) {
+                if (anyElement(accessor.apply(record), value -> containsIgnoreCase(value, lowerCaseTerm))) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private Predicate<T> filter(Filter filter) {
+        final Function<Object, Object> accessor = accessors.get(schema.getFilterPlan().get(filter.getPropertyName()).getName());
+
+        if (accessor == null) {
+            throw new ElepyException(String.format("Can't filter on property '%s'", filter.getPropertyName()), 400);
+        }
+
+        if (filter.getFilterType() == FilterType.IN) {
+            final List<Serializable> filterValues = filterValues(filter);
+            return record -> anyElement(accessor.apply(record), value -> filterValues.stream().anyMatch(filterValue -> equal(value, filterValue)));
+        }
+
+        final Serializable filterValue = filterValue(filter);
+        final String lowerCaseValue = filterValue.toString().toLowerCase(Locale.ROOT);
+
+        switch (filter.getFilterType()) {
+            case EQUALS:
+                return record -> anyElement(accessor.apply(record), value -> equal(value, filterValue));
+            case NOT_EQUALS:
+                return record -> !anyElement(accessor.apply(record), value -> equal(value, filterValue));
+            case GREATER_THAN:
+                return record -> anyElement(accessor.apply(record), value -> inRange(value, filterValue, comparison -> comparison > 0));
+            case GREATER_THAN_OR_EQUALS:
+                return record -> anyElement(accessor.apply(record), value -> inRange(value, filterValue, comparison -> comparison >= 0));
+            case LESSER_THAN:
+                return record -> anyElement(accessor.apply(record), value -> inRange(value, filterValue, comparison -> comparison < 0));
+            case LESSER_THAN_OR_EQUALS:
+                return record -> anyElement(accessor.apply(record), value -> inRange(value, filterValue, comparison -> comparison <= 0));
+            case CONTAINS:
+                return record -> anyElement(accessor.apply(record), value -> containsIgnoreCase(value, lowerCaseValue));
+            case STARTS_WITH:
+                return record -> anyElement(accessor.apply(record), value -> isText(value) && value.toString().toLowerCase(Locale.ROOT).startsWith(lowerCaseValue));
+            default:
+                throw new ElepyException("Can't evaluate: " + filter.getFilterType().getName());
+        }
+    }
+
+    private static boolean anyElement(Object value, Predicate<Object> predicate) {
+        if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                if (predicate.test(element)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return predicate.test(value);
+    }
+
+    private static boolean equal(Object recordValue, Object filterValue) {
+        if (recordValue == null) {
+            return false;
+        }
+        final Integer comparison = ComparisonUtils.compare(recordValue, filterValue);
+
+        if (comparison == null) {
+            return recordValue.toString().equals(filterValue.toString());
+        }
+        return comparison == 0;
+    }
+
+    private static boolean inRange(Object recordValue, Object filterValue, IntPredicate range) {
+        final Integer comparison = ComparisonUtils.compare(recordValue, filterValue);
+        return comparison != null && range.test(comparison);
+    }
+
+    private static boolean containsIgnoreCase(Object value, String lowerCaseTerm) {
+        return isText(value) && value.toString().toLowerCase(Locale.ROOT).contains(lowerCaseTerm);
+    }
+
+    private static boolean isText(Object value) {
+        return value instanceof CharSequence || value instanceof Enum;
+    }
+
+    private static Optional<AccessibleObject> member(Class<?> cls, String property) {
+        final Field field = ReflectionUtils.getPropertyField(cls, property);
+
+        if (field != null) {
+            return Optional.of(field);
+        }
+        for (Method method : cls.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Generated.class) && method.getParameterCount() == 0 && ReflectionUtils.getPropertyName(method).equals(property)) {
+                return Optional.of(method);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Function<Object, Object> getter(AccessibleObject member, String property) {
+        final MethodHandle handle;
+        try {
+            member.setAccessible(true);
+            handle = (member instanceof Field ?
+                    MethodHandles.lookup().unreflectGetter((Field) member) :
+                    MethodHandles.lookup().unreflect((Method) member)).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new ElepyConfigException("Can't read property: " + property);
+        }
+
+        return record -> {
+            try {
+                return (Object) handle.invokeExact(record);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new ElepyException("Failed to read property: " + property, 500, e);
+            }
+        };
+    }
+}
@@ -0,0 +1,223 @@
+package com.elepy.dao;
+
+import com.elepy.models.FieldType;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Rewrites expressions into simpler expressions that match the same records, before a backend
+ * translates them to a database query. Queries built from requests look like
+ * <code>and(q, or(filters) | search(""))</code>, which would otherwise be translated literally.
+ * <p>
+ * The optimizer:
+ * <ul>
+ * <li>drops empty searches, which match every record</li>
+ * <li>flattens nested groups with the same operator and unwraps groups with a single expression</li>
+ * <li>removes duplicate expressions from groups</li>
+ * <li>merges range filters on the same {@link FieldType#NUMBER} property, in AND groups</li>
+ * <li>turns equality filters on the same property into an {@link FilterType#IN} filter, in OR groups</li>
+ * </ul>
+ * The given expression is never changed. An expression that matches every record is optimized to an empty search.
+ * <p>
+ * Range filters are only merged when the {@link FilterPlan} says the property is a number. Other properties,
+ * like Strings, are compared differently by the backends, so their filters are kept as they are.
+ */
+public class ExpressionOptimizer {
+
+    private ExpressionOptimizer() {
+
+    }
+
+    public static Expression optimize(Expression expression, FilterPlan filterPlan) {
+        if (expression == null || expression.canBeIgnored()) {
+            return Filters.search("");
+        }
+        if (expression instanceof BooleanGroup) {
+            return optimize((BooleanGroup) expression, filterPlan);
+        }
+        return expression;
+    }
+
+    private static Expression optimize(BooleanGroup group, FilterPlan filterPlan) {
+        final BooleanGroup.BooleanOperator operator = group.getOperator();
+        final Set<String> seen = new LinkedHashSet<>();
+        List<Expression> expressions = new ArrayList<>();
+
+        for (Expression child : group.getExpressions()) {
+            final Expression optimized = optimize(child, filterPlan);
+
+            if (optimized.canBeIgnored()) {
+                // An expression that matches everything decides an OR group, and doesn't matter in an AND group
+                if (operator == BooleanGroup.BooleanOperator.OR) {
+                    return Filters.search("");
+                }
+                continue;
+            }
+
+            final List<Expression> flattened = isGroup(optimized, operator) ?
+                    ((BooleanGroup) optimized).getExpressions() : List.of(optimized);
+
+            for (Expression expression : flattened) {
+                if (seen.add(key(expression))) {
+                    expressions.add(expression);
+                }
+            }
+        }
+
+        expressions = operator == BooleanGroup.BooleanOperator.AND ? mergeRanges(expressions, filterPlan) : mergeEqualities(expressions);
+
+        if (expressions.isEmpty()) {
+            return Filters.search("");
+        }
+        if (expressions.size() == 1) {
+            return expressions.get(0);
+        }
+        return Filters.booleanGroup(operator, expressions);
+    }
+
+    /**
+     * Keeps only the strictest lower and upper bound per number property.
+     */
+    private static List<Expression> mergeRanges(List<Expression> expressions, FilterPlan filterPlan) {
+        final Map<String, Filter> lowerBounds = new LinkedHashMap<>();
+        final Map<String, Filter> upperBounds = new LinkedHashMap<>();
+        final List<Expression> merged = new ArrayList<>();
+
+        for (Expression expression : expressions) {
+            final BigDecimal bound = isNumberFilter(expression, filterPlan) ? number(((Filter) expression).getFilterValue()) : null;
+
+            if (bound == null) {
+                merged.add(expression);
+                continue;
+            }
+            final Filter filter = (Filter) expression;
+
+            switch (filter.getFilterType()) {
+                case GREATER_THAN:
+                case GREATER_THAN_OR_EQUALS:
+                    mergeBound(merged, lowerBounds, filter, 1);
+                    break;
+                case LESSER_THAN:
+                case LESSER_THAN_OR_EQUALS:
+                    mergeBound(merged, upperBounds, filter, -1);
+                    break;
+                default:
+                    merged.add(filter);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * @param direction 1 if higher bounds are stricter, -1 if lower bounds are stricter
+     */
+    private static void mergeBound(List<Expression> merged, Map<String, Filter> bounds, Filter filter, int direction) {
+        final Filter current = bounds.get(filter.getPropertyName());
+
+        if (current == null) {
+            bounds.put(filter.getPropertyName(), filter);
+            merged.add(filter);
+            return;
+        }
+
+        final int comparison = number(filter.getFilterValue()).compareTo(number(current.getFilterValue())) * direction;
+        final boolean stricter = comparison > 0 || (comparison == 0 && isExclusive(filter.getFilterType()));
+
+        if (stricter) {
+            bounds.put(filter.getPropertyName(), filter);
+            merged.set(merged.indexOf(current), filter);
+        }
+    }
+
+    /**
+     * Combines the equality filters on the same property into a single IN filter.
+     */
+    private static List<Expression> mergeEqualities(List<Expression> expressions) {
+        final Map<String, List<Serializable>> valuesByProperty = new LinkedHashMap<>();
+
+        for (Expression expression : expressions) {
+            if (isEqualityFilter(expression)) {
+                final Filter filter = (Filter) expression;
+                valuesByProperty.computeIfAbsent(filter.getPropertyName(), property -> new ArrayList<>()).addAll(values(filter));
+            }
+        }
+
+        final List<Expression> merged = new ArrayList<>();
+        final Set<String> added = new LinkedHashSet<>();
+
+        for (Expression expression : expressions) {
+            if (!isEqualityFilter(expression)) {
+                merged.add(expression);
+                continue;
+            }
+            final String property = ((Filter) expression).getPropertyName();
+            final List<Serializable> values = valuesByProperty.get(property);
+
+            if (values.size() == 1) {
+                merged.add(expression);
+            } else if (added.add(property)) {
+                merged.add(Filters.in(property, values.stream().distinct().collect(Collectors.toList())));
+            }
+        }
+        return merged;
+    }
+
+    private static boolean isNumberFilter(Expression expression, FilterPlan filterPlan) {
+        return expression instanceof Filter && filterPlan.find(((Filter) expression).getPropertyName())
+                .map(field -> field.getFieldType() == FieldType.NUMBER)
+                .orElse(false);
+    }
+
+    private static boolean isEqualityFilter(Expression expression) {
+        return expression instanceof Filter
+                && (((Filter) expression).getFilterType() == FilterType.EQUALS || ((Filter) expression).getFilterType() == FilterType.IN);
+    }
+
+    private static List<Serializable> values(Filter filter) {
+        if (filter.getFilterType() == FilterType.IN) {
+            return new ArrayList<>(filter.getFilterValues());
+        }
+        return List.of(filter.getFilterValue());
+    }
+
+    private static boolean isExclusive(FilterType filterType) {
+        return filterType == FilterType.GREATER_THAN || filterType == FilterType.LESSER_THAN;
+    }
+
+    private static boolean isGroup(Expression expression, BooleanGroup.BooleanOperator operator) {
+        return expression instanceof BooleanGroup && ((BooleanGroup) expression).getOperator() == operator;
+    }
+
+    private static BigDecimal number(Serializable value) {
+        if (value == null || value instanceof List) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.toString().trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String key(Expression expression) {
+        if (expression instanceof Filter) {
+            final Filter filter = (Filter) expression;
+            return "f:" + filter.getPropertyName() + ":" + filter.getFilterType() + ":" + filter.getFilterValue();
+        }
+        if (expression instanceof SearchQuery) {
+            return "s:" + ((SearchQuery) expression).getTerm();
+        }
+        final BooleanGroup group = (BooleanGroup) expression;
+        return group.getOperator() + group.getExpressions().stream()
+                .map(ExpressionOptimizer::key)
+                .collect(Collectors.joining(",", "(", ")"));
+    }
+}
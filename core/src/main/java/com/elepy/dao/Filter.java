@@ -2,6 +2,7 @@ package com.elepy.dao;
 
 
 import java.io.Serializable;
+import java.util.List;
 
 // id=5 and amount>5 or
 public class Filter extends Expression {
@@ -46,8 +47,24 @@ public class Filter extends Expression {
         return filterValue;
     }
 
+    /**
+     * @return The values of an {@link FilterType#IN} filter, or the value of any other filter
+     */
+    @SuppressWarnings("unchecked")
+    public List<Serializable> getFilterValues() {
+        if (filterValue instanceof List) {
+            return (List<Serializable>) filterValue;
+        }
+        return List.of(filterValue);
+    }
+
     @Override
     public boolean canBeIgnored() {
         return false;
     }
+
+    @Override
+    public Filter copy() {
+        return new Filter(propertyName, filterType, filterValue);
+    }
 }
@@ -0,0 +1,53 @@
+package com.elepy.dao;
+
+import com.elepy.exceptions.ElepyConfigException;
+import com.elepy.models.Property;
+import com.elepy.models.Schema;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * An immutable lookup from property names to {@link FilterableField}s, built once when a model is ignited.
+ * <p>
+ * Backends and requests use it to translate filters, so that the property, its field, its type,
+ * the filters it allows and the way its values are parsed aren't looked up again for every filter.
+ */
+public class FilterPlan {
+
+    private final Map<String, FilterableField> fields;
+    private final List<FilterableField> searchableFields;
+
+    public FilterPlan(Schema<?> schema) {
+        final Map<String, FilterableField> fields = new HashMap<>();
+
+        for (Property property : schema.getProperties()) {
+            fields.put(property.getName(), new FilterableField(schema, property));
+        }
+        this.fields = Map.copyOf(fields);
+        this.searchableFields = schema.getProperties().stream()
+                .filter(Property::isSearchable)
+                .map(property -> this.fields.get(property.getName()))
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    public FilterableField get(String propertyName) {
+        return find(propertyName).orElseThrow(() -> new ElepyConfigException("No property with the name: " + propertyName));
+    }
+
+    public Optional<FilterableField> find(String propertyName) {
+        return Optional.ofNullable(fields.get(propertyName));
+    }
+
+    public Collection<FilterableField> getFields() {
+        return fields.values();
+    }
+
+    public List<FilterableField> getSearchableFields() {
+        return searchableFields;
+    }
+}
@@ -38,7 +38,10 @@ public enum FilterType {
             TEXTAREA,
             MARKDOWN,
             HTML,
-            ARRAY);
+            ARRAY),
+
+    // Produced by the ExpressionOptimizer, it can't be requested directly
+    IN("In", "in");
 
 
     private final String prettyName;
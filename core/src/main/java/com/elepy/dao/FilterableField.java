@@ -1,27 +1,57 @@
 package com.elepy.dao;
 
-import com.elepy.exceptions.ElepyException;
 import com.elepy.models.FieldType;
+import com.elepy.models.Property;
+import com.elepy.models.Schema;
+import com.elepy.utils.MapperUtils;
 import com.elepy.utils.ReflectionUtils;
 
+import java.io.Serializable;
 import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * Everything a backend needs to know to translate a filter on a property, resolved once per schema.
+ *
+ * @see FilterPlan
+ */
 public class FilterableField {
 
+    private final Property property;
     private final Field field;
     private final FieldType fieldType;
     private final String name;
+    private final String javaName;
+    private final boolean id;
+    private final Set<FilterType> filterTypes;
+    private final Function<String, Serializable> valueParser;
+    private final Class<?> valueType;
 
-    public FilterableField(Class restModelType, String propertyName) {
-        this.field = ReflectionUtils.getPropertyField(restModelType, propertyName);
+    FilterableField(Schema<?> schema, Property property) {
+        this.property = property;
+        this.field = ReflectionUtils.getPropertyField(schema.getJavaClass(), property.getName());
+        this.fieldType = property.getType();
+        this.name = property.getName();
+        this.javaName = property.getJavaName();
+        this.id = property.getName().equals(schema.getIdProperty());
+        this.filterTypes = Set.copyOf(FilterType.getForFieldType(fieldType));
 
-        if (field == null) {
-            throw new ElepyException(String.format("No properties titled '%s'", propertyName));
-        }
-        this.fieldType = FieldType.guessFieldType(field);
-        this.name = ReflectionUtils.getPropertyName(field);
+        // Properties that aren't backed by a field, like generated ones, are filtered on as Strings
+        this.valueParser = field == null ? value -> value : MapperUtils.valueParser(field, fieldType);
+        this.valueType = field == null ? String.class : MapperUtils.valueType(field, fieldType);
+    }
+
+    public Property getProperty() {
+        return property;
     }
 
+    /**
+     * @return The field of the property, or null if the property isn't backed by a field
+     */
     public Field getField() {
         return field;
     }
@@ -30,7 +60,47 @@ public class FilterableField {
         return name;
     }
 
+    /**
+     * @return The name of the field in the Java class, which JPA uses
+     */
+    public String getJavaName() {
+        return javaName;
+    }
+
     public FieldType getFieldType() {
         return fieldType;
     }
+
+    public boolean isId() {
+        return id;
+    }
+
+    public Set<FilterType> getFilterTypes() {
+        return filterTypes;
+    }
+
+    public boolean canBeFilteredWith(FilterType filterType) {
+        return filterTypes.contains(filterType);
+    }
+
+    /**
+     * @return The filter value, converted to the type of this property. Values that already have the type the
+     * value parser produces are used as they are, and so are BigDecimals of BigDecimal fields, which would lose
+     * precision as Floats.
+     */
+    public Serializable value(Serializable filterValue) {
+        if ((valueType != null && valueType.isInstance(filterValue)) || (field != null && field.getType() == BigDecimal.class && filterValue instanceof BigDecimal)) {
+            return filterValue;
+        }
+        return valueParser.apply(filterValue.toString());
+    }
+
+    /**
+     * @return The values of an IN filter, or the value of any other filter, converted to the type of this property
+     */
+    public List<Serializable> values(Filter filter) {
+        return filter.getFilterValues().stream()
+                .map(this::value)
+                .collect(Collectors.toList());
+    }
 }
@@ -1,6 +1,7 @@
 package com.elepy.dao;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -18,6 +19,13 @@ public class Filters {
         return filter(propertyName, FilterType.NOT_EQUALS, value);
     }
 
+    /**
+     * Matches the records whose property equals one of the values
+     */
+    public static Filter in(String propertyName, List<? extends Serializable> values) {
+        return filter(propertyName, FilterType.IN, new ArrayList<>(values));
+    }
+
     public static Filter contains(String propertyName, Serializable value) {
         return filter(propertyName, FilterType.CONTAINS, value);
     }
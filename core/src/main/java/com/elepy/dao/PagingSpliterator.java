@@ -0,0 +1,64 @@
+package com.elepy.dao;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * A Spliterator that lazily pages through a {@link Crud} with skip/limit queries.
+ * This is the fallback for {@link Crud#stream(Query)} when a Crud has no native cursor.
+ *
+ * @param <T> The type of the Model
+ */
+class PagingSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+    static final int DEFAULT_PAGE_SIZE = 500;
+
+    private final Crud<T> crud;
+    private final Query query;
+    private final int pageSize;
+
+    private int skip;
+    private int remaining;
+    private boolean exhausted;
+    private Iterator<T> page;
+
+    PagingSpliterator(Crud<T> crud, Query query, int pageSize) {
+        super(Long.MAX_VALUE, ORDERED | NONNULL);
+        this.crud = crud;
+        this.query = query;
+        this.pageSize = pageSize;
+        this.skip = query.getSkip();
+        this.remaining = query.getLimit();
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if ((page == null || !page.hasNext()) && !fetchNextPage()) {
+            return false;
+        }
+        action.accept(page.next());
+        return true;
+    }
+
+    private boolean fetchNextPage() {
+        if (exhausted || remaining <= 0) {
+            return false;
+        }
+        final int limit = Math.min(pageSize, remaining);
+
+        final List<T> results = crud.find(new Query(query.getExpression())
+                .sort(query.getSortingSpecification())
+                .fields(query.getFields())
+                .skip(skip)
+                .limit(limit));
+
+        skip += results.size();
+        remaining -= results.size();
+        exhausted = results.size() < limit;
+        page = results.iterator();
+
+        return page.hasNext();
+    }
+}
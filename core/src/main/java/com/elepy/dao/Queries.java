@@ -3,21 +3,81 @@ package com.elepy.dao;
 import com.elepy.dao.parser.EleQueryLexer;
 import com.elepy.dao.parser.EleQueryParser;
 import com.elepy.dao.parser.QueryListener;
+import com.elepy.dao.parser.SimpleQueryParser;
 import com.elepy.dao.parser.cql.CQLParser;
 import com.elepy.utils.StringUtils;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.tree.ParseTree;
 import org.antlr.v4.runtime.tree.ParseTreeWalker;
 
+import java.util.function.Function;
+
 public class Queries {
 
+    private static final int PARSE_CACHE_SIZE = 1_000;
+
+    // Longer inputs are rarely repeated, caching them would only push out the common ones
+    private static final int MAX_CACHED_INPUT_LENGTH = 1_000;
+
+    /**
+     * Parsed expressions by their raw input. The cached expressions are never handed out,
+     * callers get copies because {@link Query#purge()} changes the expression of a Query.
+     */
+    private static final Cache<String, Expression> eleQueryCache = newParseCache();
+    private static final Cache<String, Expression> cqlCache = newParseCache();
+
+    private static Cache<String, Expression> newParseCache() {
+        return CacheBuilder.newBuilder()
+                .maximumSize(PARSE_CACHE_SIZE)
+                .recordStats()
+                .build();
+    }
+
     public static Query parse(String input) {
 
         if (StringUtils.isEmpty(input)) {
             return Queries.empty();
         }
+        return cached(eleQueryCache, input, Queries::parseEleQuery);
+    }
+
+    public static Query parseCQL(String input) {
+        return cached(cqlCache, input, CQLParser::parse);
+    }
+
+    /**
+     * @return The hits and misses of the parse caches of both query languages
+     */
+    public static CacheStats getParseCacheStats() {
+        return eleQueryCache.stats().plus(cqlCache.stats());
+    }
+
+    private static Query cached(Cache<String, Expression> cache, String input, Function<String, Query> parser) {
+        if (input.length() > MAX_CACHED_INPUT_LENGTH) {
+            return parser.apply(input);
+        }
+
+        Expression expression = cache.getIfPresent(input);
+
+        if (expression == null) {
+            expression = parser.apply(input).getExpression();
+            cache.put(input, expression);
+        }
+        return create(expression.copy());
+    }
+
+    private static Query parseEleQuery(String input) {
+        return SimpleQueryParser.parse(input)
+                .map(Queries::create)
+                .orElseGet(() -> parseWithAntlr(input));
+    }
+
+    private static Query parseWithAntlr(String input) {
         //Lex (with Antlr's generated lexer)
         CharStream inputStream = CharStreams.fromString(input);
         EleQueryLexer lexer = new EleQueryLexer(inputStream);
@@ -35,10 +95,6 @@ public class Queries {
         return listener.getQuery();
     }
 
-    public static Query parseCQL(String input) {
-        return CQLParser.parse(input);
-    }
-
     public static Query create(Expression expression) {
         return new Query(expression);
     }
@@ -1,5 +1,9 @@
 package com.elepy.dao;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 public class Query {
 
     private Expression expression;
@@ -9,6 +13,10 @@ public class Query {
 
     private SortingSpecification sortingSpecifications = new SortingSpecification();
 
+    private Cursor after;
+
+    private final List<String> fields = new ArrayList<>();
+
     public Query() {
 
     }
@@ -67,6 +75,36 @@ public class Query {
         return this;
     }
 
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Projection: only loads the given properties of the records. The id is always loaded.
+     * When no fields are given, the whole records are loaded.
+     */
+    public Query fields(Collection<String> properties) {
+        this.fields.clear();
+        this.fields.addAll(properties);
+        return this;
+    }
+
+    public Cursor getAfter() {
+        return after;
+    }
+
+    /**
+     * Keyset pagination: only matches the records after the cursor, in the sort order the cursor was created with.
+     * The skip of the query is reset, as the cursor already points past the previous pages.
+     */
+    public Query after(Cursor cursor) {
+        this.after = cursor;
+        this.expression = Filters.and(expression, cursor.toExpression());
+        this.sortingSpecifications = cursor.getSortingSpecification();
+        this.skip = 0;
+        return this;
+    }
+
     public Query page(int number, int size) {
         limit(size);
 
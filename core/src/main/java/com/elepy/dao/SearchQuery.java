@@ -24,4 +24,9 @@ public class SearchQuery extends Expression {
     public boolean canBeIgnored() {
         return StringUtils.isEmpty(term);
     }
+
+    @Override
+    public SearchQuery copy() {
+        return new SearchQuery(term);
+    }
 }
@@ -0,0 +1,279 @@
+package com.elepy.dao.parser;
+
+import com.elepy.dao.BooleanGroup;
+import com.elepy.dao.Expression;
+import com.elepy.dao.Filter;
+import com.elepy.dao.FilterType;
+import com.elepy.dao.SearchQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * A recursive descent parser for the common, simple EleQuery inputs: search terms, filters with symbolic
+ * operators (=, !=, &lt;&gt;, &gt;, &gt;=, &lt;, &lt;=), and/or and parentheses. It produces exactly the same
+ * Expressions as {@link QueryListener} does for these inputs, without the cost of the ANTLR runtime.
+ * <p>
+ * Everything else, such as keyword operators, paging settings, double quotes and characters the
+ * EleQuery lexer skips, is left to the ANTLR parser: {@link #parse(String)} returns empty for it.
+ */
+public class SimpleQueryParser {
+
+    // Words that the EleQuery lexer turns into operators or settings, or that start one
+    private static final Pattern KEYWORD = Pattern.compile(
+            "skip|limit|page(size|number)?|gte?|lte?|neq?|not(equals?(to)?)?|eq|equals?|contains|in|starts(with)?|sw"
+    );
+
+    private final String input;
+    private final List<Token> tokens = new ArrayList<>();
+    private int position = 0;
+
+    private SimpleQueryParser(String input) {
+        this.input = input;
+    }
+
+    /**
+     * @return The parsed expression, or empty if the input has to be parsed by the ANTLR parser
+     */
+    public static Optional<Expression> parse(String input) {
+        final SimpleQueryParser parser = new SimpleQueryParser(input);
+
+        try {
+            parser.tokenize();
+            if (parser.tokens.isEmpty()) {
+                return Optional.empty();
+            }
+            final Expression expression = parser.expression();
+
+            if (parser.position != parser.tokens.size()) {
+                return Optional.empty();
+            }
+            return Optional.of(expression);
+        } catch (Unsupported e) {
+            return Optional.empty();
+        }
+    }
+
+    // Parsing
+
+    // expression: primary (booleanOperator primary)*, left associative like the EleQuery grammar
+    private Expression expression() {
+        Expression left = primary();
+
+        while (peek(Kind.AND) || peek(Kind.OR)) {
+            final BooleanGroup.BooleanOperator operator = next().kind == Kind.AND ?
+                    BooleanGroup.BooleanOperator.AND : BooleanGroup.BooleanOperator.OR;
+
+            final BooleanGroup group = new BooleanGroup();
+            group.setOperator(operator);
+            group.setExpressions(new ArrayList<>(List.of(left, primary())));
+            left = group;
+        }
+        return left;
+    }
+
+    // primary: '(' expression ')' | filter | searchQuery
+    private Expression primary() {
+        if (peek(Kind.OPEN)) {
+            next();
+            final Expression expression = expression();
+            expect(Kind.CLOSE);
+            return expression;
+        }
+        if (position + 1 < tokens.size() && tokens.get(position + 1).kind == Kind.OPERATOR) {
+            return filter();
+        }
+        return new SearchQuery(terms());
+    }
+
+    private Expression filter() {
+        final Token property = next();
+
+        if (property.kind != Kind.WORD) {
+            throw new Unsupported();
+        }
+        final Token operator = next();
+
+        if (operator.filterType == FilterType.EQUALS || operator.filterType == FilterType.NOT_EQUALS) {
+            return new Filter(property.text, operator.filterType, terms());
+        }
+
+        final Token number = next();
+        if (number.kind != Kind.NUMBER) {
+            throw new Unsupported();
+        }
+        endOfOperand();
+        return new Filter(property.text, operator.filterType, number.text);
+    }
+
+    // validSearchTerm+, joined by single spaces like QueryListener does
+    private String terms() {
+        final List<String> terms = new ArrayList<>();
+
+        while (peek(Kind.WORD) || peek(Kind.NUMBER) || peek(Kind.STRING)) {
+            terms.add(next().text);
+        }
+        if (terms.isEmpty()) {
+            throw new Unsupported();
+        }
+        endOfOperand();
+        return String.join(" ", terms);
+    }
+
+    private void endOfOperand() {
+        if (!(position == tokens.size() || peek(Kind.AND) || peek(Kind.OR) || peek(Kind.CLOSE))) {
+            throw new Unsupported();
+        }
+    }
+
+    private boolean peek(Kind kind) {
+        return position < tokens.size() && tokens.get(position).kind == kind;
+    }
+
+    private Token next() {
+        if (position >= tokens.size()) {
+            throw new Unsupported();
+        }
+        return tokens.get(position++);
+    }
+
+    private void expect(Kind kind) {
+        if (next().kind != kind) {
+            throw new Unsupported();
+        }
+    }
+
+    // Lexing
+
+    private void tokenize() {
+        int i = 0;
+
+        while (i < input.length()) {
+            final char c = input.charAt(i);
+
+            if (c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+                i++;
+            } else if (c == '(') {
+                tokens.add(new Token(Kind.OPEN, "("));
+                i++;
+            } else if (c == ')') {
+                tokens.add(new Token(Kind.CLOSE, ")"));
+                i++;
+            } else if (c == '\'') {
+                final int end = input.indexOf('\'', i + 1);
+
+                // The grammar doesn't allow empty strings
+                if (end <= i + 1) {
+                    throw new Unsupported();
+                }
+                tokens.add(new Token(Kind.STRING, input.substring(i + 1, end)));
+                i = end + 1;
+            } else if (c == '=' || c == '!' || c == '<' || c == '>') {
+                i = operator(i);
+            } else if (isWordCharacter(c)) {
+                int end = i;
+                while (end < input.length() && isWordCharacter(input.charAt(end))) {
+                    end++;
+                }
+                tokens.add(word(input.substring(i, end)));
+                i = end;
+            } else {
+                throw new Unsupported();
+            }
+        }
+    }
+
+    private int operator(int i) {
+        final char c = input.charAt(i);
+        final char following = i + 1 < input.length() ? input.charAt(i + 1) : 0;
+
+        if (c == '=') {
+            tokens.add(new Token(FilterType.EQUALS, "="));
+            return i + 1;
+        }
+        if (c == '!' && following == '=') {
+            tokens.add(new Token(FilterType.NOT_EQUALS, "!="));
+            return i + 2;
+        }
+        if (c == '<' && following == '>') {
+            tokens.add(new Token(FilterType.NOT_EQUALS, "<>"));
+            return i + 2;
+        }
+        if (c == '<') {
+            return following == '=' ?
+                    add(new Token(FilterType.LESSER_THAN_OR_EQUALS, "<="), i + 2) :
+                    add(new Token(FilterType.LESSER_THAN, "<"), i + 1);
+        }
+        if (c == '>') {
+            return following == '=' ?
+                    add(new Token(FilterType.GREATER_THAN_OR_EQUALS, ">="), i + 2) :
+                    add(new Token(FilterType.GREATER_THAN, ">"), i + 1);
+        }
+        throw new Unsupported();
+    }
+
+    private int add(Token token, int next) {
+        tokens.add(token);
+        return next;
+    }
+
+    private static Token word(String text) {
+        final String lowerCase = text.toLowerCase(Locale.ROOT);
+
+        if (lowerCase.equals("and")) {
+            return new Token(Kind.AND, text);
+        }
+        if (lowerCase.equals("or")) {
+            return new Token(Kind.OR, text);
+        }
+        if (KEYWORD.matcher(lowerCase).matches()) {
+            throw new Unsupported();
+        }
+        if (text.indexOf('.') >= 0) {
+            // Only decimals, dotted property names are left to the ANTLR parser
+            if (!text.matches("[0-9]*\\.[0-9]+")) {
+                throw new Unsupported();
+            }
+            return new Token(Kind.NUMBER, text);
+        }
+        return new Token(text.chars().allMatch(Character::isDigit) ? Kind.NUMBER : Kind.WORD, text);
+    }
+
+    private static boolean isWordCharacter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '.';
+    }
+
+    private enum Kind {
+        WORD, NUMBER, STRING, OPERATOR, AND, OR, OPEN, CLOSE
+    }
+
+    private static class Token {
+        private final Kind kind;
+        private final String text;
+        private final FilterType filterType;
+
+        Token(Kind kind, String text) {
+            this.kind = kind;
+            this.text = text;
+            this.filterType = null;
+        }
+
+        Token(FilterType filterType, String text) {
+            this.kind = Kind.OPERATOR;
+            this.text = text;
+            this.filterType = filterType;
+        }
+    }
+
+    /**
+     * Thrown for input that is left to the ANTLR parser.
+     */
+    private static class Unsupported extends RuntimeException {
+        Unsupported() {
+            super(null, null, false, false);
+        }
+    }
+}
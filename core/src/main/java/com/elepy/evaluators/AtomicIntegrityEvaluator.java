@@ -1,74 +1,57 @@
 package com.elepy.evaluators;
 
 import com.elepy.exceptions.ElepyException;
+import com.elepy.models.ModelMetadata;
 import com.elepy.utils.ReflectionUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
-
+import java.util.Set;
+
+/**
+ * Finds items with the same unique values within the items of a single request.
+ * <p>
+ * Every unique field is read once per item and its values are hashed, so that a bulk create of n items
+ * takes O(n) per unique field. Items without a value for a unique field never conflict.
+ */
 public class AtomicIntegrityEvaluator<T> {
-    private static final Logger logger = LoggerFactory.getLogger(AtomicIntegrityEvaluator.class);
-
-    public void evaluate(List<T> items) throws IllegalAccessException {
-
-        for (T item : items) {
-
-            List<T> theRest = new ArrayList<>(items);
 
-            theRest.remove(item);
-
-            checkUniqueness(item, theRest);
+    /**
+     * @throws ElepyException with all duplicate values, one per line
+     */
+    public void evaluate(Collection<T> items) {
+        if (items.isEmpty()) {
+            return;
         }
-    }
-
-    private void checkUniqueness(T item, List<T> theRest) throws IllegalAccessException {
-        List<Field> uniqueFields = ReflectionUtils.getUniqueFields(item.getClass());
-        Optional<Serializable> id = ReflectionUtils.getId(item);
-
-        for (Field field : uniqueFields) {
+        final ModelMetadata metadata = ModelMetadata.of(items.iterator().next().getClass());
+        final List<String> conflicts = new ArrayList<>();
 
-            field.setAccessible(true);
-            Object prop = field.get(item);
-
-
-            final List<T> foundItems = theRest.stream().filter(t -> {
-
-                try {
-                    return field.get(t).equals(prop);
-                } catch (IllegalAccessException e) {
-                    logger.error(e.getMessage(), e);
-                    return false;
-                }
-            }).collect(Collectors.toList());
+        for (Field field : metadata.getUniqueFields()) {
+            for (Object value : findDuplicates(items, metadata.accessor(field))) {
+                conflicts.add(String.format("There are duplicates with the %s: '%s' in the given array!", ReflectionUtils.getLabel(field), value));
+            }
+        }
 
-            integrityCheck(foundItems, id, field, prop);
+        if (!conflicts.isEmpty()) {
+            throw new ElepyException(String.join(",\n", conflicts));
         }
     }
 
-    private void integrityCheck(List<T> foundItems, Optional<Serializable> id, Field field, Object prop) {
-        if (!foundItems.isEmpty()) {
+    private Set<Object> findDuplicates(Collection<T> items, ModelMetadata.Accessor accessor) {
+        final Set<Object> values = new HashSet<>();
+        final Set<Object> duplicates = new LinkedHashSet<>();
 
+        for (T item : items) {
+            final Object value = accessor.get(item);
 
-            if (foundItems.size() > 1) {
-                throw new ElepyException(String.format("There are duplicates with the %s: '%s' in the given array!", ReflectionUtils.getLabel(field), String.valueOf(prop)));
-            }
-
-            T foundRecord = foundItems.get(0);
-            final Optional<Serializable> foundId = ReflectionUtils.getId(foundRecord);
-            if (id.isPresent() || foundId.isPresent()) {
-                if (!id.equals(foundId)) {
-                    throw new ElepyException(String.format("An item with the %s: '%s' already exists in the system!", ReflectionUtils.getLabel(field), String.valueOf(prop)));
-                }
-            } else {
-                throw new ElepyException(String.format("There are duplicates with the %s: '%s' in the given array!", ReflectionUtils.getLabel(field), String.valueOf(prop)));
-
+            if (value != null && !values.add(value)) {
+                duplicates.add(value);
             }
         }
+        return duplicates;
     }
 }
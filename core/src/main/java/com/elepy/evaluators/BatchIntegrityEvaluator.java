@@ -0,0 +1,114 @@
+package com.elepy.evaluators;
+
+import com.elepy.annotations.ElepyConstructor;
+import com.elepy.dao.Crud;
+import com.elepy.dao.Filters;
+import com.elepy.dao.Queries;
+import com.elepy.exceptions.ElepyException;
+import com.elepy.models.ModelContext;
+import com.elepy.models.ModelMetadata;
+import com.elepy.utils.ReflectionUtils;
+import com.google.common.collect.Lists;
+
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Checks the uniqueness of many items at once, with one IN query per unique field instead of
+ * a query per unique field for every item like the {@link DefaultIntegrityEvaluator} does.
+ * <p>
+ * This only catches conflicts with items that are already stored. Conflicts within the items themselves are
+ * found by the {@link AtomicIntegrityEvaluator}, and items that are stored at the same time by another request
+ * are rejected by the unique indexes of the database.
+ */
+public class BatchIntegrityEvaluator<T> implements IntegrityEvaluator<T> {
+
+    // Keeps the IN queries well below the parameter limits of SQL databases
+    private static final int MAX_VALUES_PER_QUERY = 500;
+
+    private final Crud<T> crud;
+
+    public BatchIntegrityEvaluator(ModelContext<T> modelContext) {
+        this.crud = modelContext.getCrud();
+    }
+
+    @ElepyConstructor
+    public BatchIntegrityEvaluator(Crud<T> crud) {
+        this.crud = crud;
+    }
+
+    @Override
+    public void evaluate(T item, EvaluationType type) {
+        evaluate(List.of(item), type);
+    }
+
+    public void evaluate(Collection<T> items, EvaluationType type) {
+        if (items.isEmpty()) {
+            return;
+        }
+        final ModelMetadata metadata = ModelMetadata.of(crud.getType());
+        final Field idField = metadata.getIdField().orElse(null);
+
+        for (Field field : metadata.getUniqueFields()) {
+            if (field.equals(idField)) {
+                if (type == EvaluationType.CREATE) {
+                    checkIds(items, metadata);
+                }
+            } else {
+                checkUniqueness(items, field, metadata);
+            }
+        }
+    }
+
+    private void checkIds(Collection<T> items, ModelMetadata metadata) {
+        final List<Serializable> ids = new ArrayList<>();
+        items.forEach(item -> metadata.getId(item).ifPresent(ids::add));
+
+        if (!ids.isEmpty() && !findWithValues(ReflectionUtils.getPropertyName(metadata.getIdField().orElseThrow()), ids).isEmpty()) {
+            throw new ElepyException("Duplicate ID's", 400);
+        }
+    }
+
+    private void checkUniqueness(Collection<T> items, Field field, ModelMetadata metadata) {
+        final ModelMetadata.Accessor accessor = metadata.accessor(field);
+        final Map<String, List<T>> itemsByValue = new HashMap<>();
+
+        for (T item : items) {
+            final Object value = accessor.get(item);
+            if (value != null) {
+                itemsByValue.computeIfAbsent(value.toString(), v -> new ArrayList<>()).add(item);
+            }
+        }
+        if (itemsByValue.isEmpty()) {
+            return;
+        }
+
+        for (T found : findWithValues(ReflectionUtils.getPropertyName(field), new ArrayList<>(itemsByValue.keySet()))) {
+            final Object value = accessor.get(found);
+            final Optional<Serializable> foundId = metadata.getId(found);
+
+            for (T item : itemsByValue.getOrDefault(String.valueOf(value), List.of())) {
+                final Optional<Serializable> id = metadata.getId(item);
+
+                if ((id.isPresent() || foundId.isPresent()) && !id.equals(foundId)) {
+                    throw new ElepyException(String.format("An item with the %s: '%s' already exists in the system!", ReflectionUtils.getLabel(field), value));
+                }
+            }
+        }
+    }
+
+    private List<T> findWithValues(String propertyName, List<? extends Serializable> values) {
+        final List<T> found = new ArrayList<>();
+
+        for (List<? extends Serializable> chunk : Lists.partition(values, MAX_VALUES_PER_QUERY)) {
+            found.addAll(crud.find(Queries.create(Filters.in(propertyName, chunk))));
+        }
+        return found;
+    }
+}
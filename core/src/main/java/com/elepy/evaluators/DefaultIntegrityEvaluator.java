@@ -5,6 +5,7 @@ import com.elepy.dao.Crud;
 import com.elepy.dao.Filters;
 import com.elepy.exceptions.ElepyException;
 import com.elepy.models.ModelContext;
+import com.elepy.models.ModelMetadata;
 import com.elepy.utils.ReflectionUtils;
 
 import java.io.Serializable;
@@ -27,27 +28,23 @@ public class DefaultIntegrityEvaluator<T> implements IntegrityEvaluator<T> {
 
     @Override
     public void evaluate(T item, EvaluationType isACreate) {
-        try {
-            checkUniqueness(item, crud, isACreate.equals(EvaluationType.CREATE));
-        } catch (IllegalAccessException e) {
-            throw new ElepyException("Can't reflectively checkUniqueness()", 500);
-        }
+        checkUniqueness(item, crud, isACreate.equals(EvaluationType.CREATE));
     }
 
-    private void checkUniqueness(T item, Crud<T> dao, boolean insert) throws IllegalAccessException {
+    private void checkUniqueness(T item, Crud<T> dao, boolean insert) {
+        final ModelMetadata metadata = ModelMetadata.of(item.getClass());
 
-        List<Field> uniqueFields = ReflectionUtils.getUniqueFields(item.getClass());
+        List<Field> uniqueFields = metadata.getUniqueFields();
 
 
-        Optional<Serializable> id = ReflectionUtils.getId(item);
+        Optional<Serializable> id = metadata.getId(item);
 
         if (insert && id.isPresent() && dao.getById(id.get()).isPresent()) {
             throw new ElepyException("Duplicate ID's", 400);
         }
 
         for (Field field : uniqueFields) {
-            field.setAccessible(true);
-            Object prop = field.get(item);
+            Object prop = metadata.accessor(field).get(item);
 
             final List<T> foundItems = dao.findLimited(10, Filters.eq(ReflectionUtils.getPropertyName(field), prop == null ? "" : prop.toString()));
             if (foundItems.size() > 0) {
@@ -57,7 +54,7 @@ public class DefaultIntegrityEvaluator<T> implements IntegrityEvaluator<T> {
                 }
 
                 T foundRecord = foundItems.get(0);
-                final Optional<Serializable> foundId = ReflectionUtils.getId(foundRecord);
+                final Optional<Serializable> foundId = metadata.getId(foundRecord);
                 if ((id.isPresent() || foundId.isPresent()) && !id.equals(foundId)) {
                     throw new ElepyException(String.format("An item with the %s: '%s' already exists in the system!", ReflectionUtils.getLabel(field), String.valueOf(prop)));
                 }
@@ -7,6 +7,7 @@ import com.elepy.models.options.ArrayOptions;
 import com.elepy.models.options.DateOptions;
 import com.elepy.models.options.NumberOptions;
 import com.elepy.utils.ModelUtils;
+import com.elepy.utils.ReflectionUtils;
 
 import java.lang.reflect.Field;
 import java.util.Collection;
@@ -22,17 +23,32 @@ public class DefaultObjectEvaluator<T> implements ObjectEvaluator<T> {
 
     }
 
+    /**
+     * Only evaluates the given properties of an object, used for partial updates.
+     */
+    public void evaluate(Object o, Collection<String> properties) throws Exception {
+        for (Field field : o.getClass().getDeclaredFields()) {
+            if (properties.contains(ReflectionUtils.getPropertyName(field))) {
+                evaluateField(o, field);
+            }
+        }
+    }
+
     private void evaluateObject(Object o, Class c) throws Exception {
         for (Field field : c.getDeclaredFields()) {
-            field.setAccessible(true);
-            var fieldDescriber = ModelUtils.describeAccessibleObject(field);
-
-            if (fieldDescriber.getType().equals(FieldType.OBJECT)) {
-                if (field.get(o) != null)
-                    evaluateObject(field.get(o), field.getType());
-            } else {
-                checkProperty(field.get(o), fieldDescriber);
-            }
+            evaluateField(o, field);
+        }
+    }
+
+    private void evaluateField(Object o, Field field) throws Exception {
+        field.setAccessible(true);
+        var fieldDescriber = ModelUtils.describeAccessibleObject(field);
+
+        if (fieldDescriber.getType().equals(FieldType.OBJECT)) {
+            if (field.get(o) != null)
+                evaluateObject(field.get(o), field.getType());
+        } else {
+            checkProperty(field.get(o), fieldDescriber);
         }
     }
 
@@ -3,6 +3,9 @@ package com.elepy.evaluators;
 
 /**
  * This evaluator evaluates if an object is valid.
+ * <p>
+ * Evaluators can be called from several threads at once, for instance when the rows of an
+ * {@link com.elepy.imports.Importer import} are evaluated in parallel, so they must be thread-safe.
  */
 public interface ObjectEvaluator<T> {
     void evaluate(T object) throws Exception;
@@ -0,0 +1,23 @@
+package com.elepy.exceptions;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Thrown when some of the items of a bulk write could not be written.
+ * The failures map the id of every failed item to the reason it failed.
+ */
+public class BulkWriteException extends ElepyException {
+
+    private final Map<Serializable, String> failures;
+
+    public BulkWriteException(String message, Map<Serializable, String> failures, Throwable cause) {
+        super(message, 500, cause);
+        this.failures = Collections.unmodifiableMap(failures);
+    }
+
+    public Map<Serializable, String> getFailures() {
+        return failures;
+    }
+}
@@ -0,0 +1,53 @@
+package com.elepy.exports;
+
+import com.elepy.models.Property;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Writes CSV with a header row of property names, so that an export can be imported again.
+ * <p>
+ * Arrays and objects are written as JSON and missing values are left empty.
+ */
+class CsvExportWriter implements ExportWriter {
+
+    private final CsvWriter writer;
+    private final ObjectMapper objectMapper;
+    private final List<Property> columns;
+    private final String[] values;
+
+    CsvExportWriter(CsvWriter writer, ObjectMapper objectMapper, List<Property> columns) throws IOException {
+        this.writer = writer;
+        this.objectMapper = objectMapper;
+        this.columns = columns;
+        this.values = new String[columns.size()];
+
+        writer.writeRecord(columns.stream().map(Property::getName).collect(Collectors.toList()));
+    }
+
+    @Override
+    public void write(Object item) throws IOException {
+        final JsonNode node = objectMapper.valueToTree(item);
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = toCsv(node.get(columns.get(i).getName()));
+        }
+        writer.writeRecord(List.of(values));
+    }
+
+    private static String toCsv(JsonNode value) {
+        if (value == null || value.isNull()) {
+            return "";
+        }
+        return value.isContainerNode() ? value.toString() : value.asText();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
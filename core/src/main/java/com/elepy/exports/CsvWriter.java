@@ -0,0 +1,62 @@
+package com.elepy.exports;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes RFC 4180 CSV records one at a time. Records are separated by CRLF.
+ * <p>
+ * Fields that contain separators, quotes or line breaks are quoted with double quotes,
+ * in which case quotes are escaped as "". This can be read by {@link com.elepy.imports.CsvReader}.
+ */
+public class CsvWriter implements Closeable {
+
+    private final Writer writer;
+    private final char separator;
+
+    public CsvWriter(Writer writer) {
+        this(writer, ',');
+    }
+
+    public CsvWriter(Writer writer, char separator) {
+        this.writer = writer;
+        this.separator = separator;
+    }
+
+    public void writeRecord(List<String> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write(separator);
+            }
+            writeField(fields.get(i) == null ? "" : fields.get(i));
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(String field) throws IOException {
+        if (!needsQuotes(field)) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private boolean needsQuotes(String field) {
+        for (int i = 0; i < field.length(); i++) {
+            final char c = field.charAt(i);
+            if (c == separator || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,37 @@
+package com.elepy.exports;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * @param name The name of a format, such as "csv"
+     */
+    public static Optional<ExportFormat> find(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        return Arrays.stream(values())
+                .filter(format -> format.name().equalsIgnoreCase(name.trim()))
+                .findFirst();
+    }
+}
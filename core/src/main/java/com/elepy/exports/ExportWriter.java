@@ -0,0 +1,30 @@
+package com.elepy.exports;
+
+import com.elepy.models.Property;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes the records of an export one at a time to a stream.
+ */
+public interface ExportWriter extends Closeable {
+
+    void write(Object item) throws IOException;
+
+    /**
+     * @param columns The properties that are written by CSV exports, in order
+     */
+    static ExportWriter of(ExportFormat format, OutputStream outputStream, ObjectMapper objectMapper, List<Property> columns) throws IOException {
+        if (format == ExportFormat.CSV) {
+            return new CsvExportWriter(new CsvWriter(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))), objectMapper, columns);
+        }
+        return new NdjsonExportWriter(outputStream, objectMapper);
+    }
+}
@@ -0,0 +1,35 @@
+package com.elepy.exports;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes newline delimited JSON, one JSON object per line.
+ */
+class NdjsonExportWriter implements ExportWriter {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+
+    NdjsonExportWriter(OutputStream outputStream, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public void write(Object item) throws IOException {
+        writer.writeValue(generator, item);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,23 @@
+package com.elepy.handlers;
+
+import com.elepy.annotations.CacheControl;
+import com.elepy.http.HttpContext;
+import com.elepy.models.Schema;
+import com.elepy.utils.Annotations;
+
+/**
+ * Sets the Cache-Control header of find responses, see {@link CacheControl}.
+ */
+final class CacheControls {
+
+    private CacheControls() {
+    }
+
+    static void apply(HttpContext context, Schema<?> schema) {
+        final CacheControl cacheControl = Annotations.get(schema.getJavaClass(), CacheControl.class);
+
+        if (cacheControl != null) {
+            context.response().header("Cache-Control", cacheControl.value());
+        }
+    }
+}
@@ -2,59 +2,83 @@ package com.elepy.handlers;
 
 import com.elepy.dao.Crud;
 import com.elepy.evaluators.AtomicIntegrityEvaluator;
-import com.elepy.evaluators.DefaultIntegrityEvaluator;
+import com.elepy.evaluators.BatchIntegrityEvaluator;
 import com.elepy.evaluators.EvaluationType;
 import com.elepy.evaluators.ObjectEvaluator;
+import com.elepy.exceptions.ElepyException;
 import com.elepy.exceptions.Message;
 import com.elepy.http.HttpContext;
 import com.elepy.models.ModelContext;
 import com.elepy.utils.ReflectionUtils;
-import com.fasterxml.jackson.databind.JavaType;
-import com.fasterxml.jackson.databind.JsonMappingException;
-import com.google.common.collect.Iterables;
-import com.google.common.collect.Lists;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 public class DefaultCreate<T> implements ActionHandler<T> {
 
+    // Items of an array are evaluated in chunks while the rest of the array is still being parsed
+    private static final int CHUNK_SIZE = 500;
+
+    private volatile ObjectReader reader;
 
     @Override
     public void handle(HttpContext context, ModelContext<T> modelContext) throws Exception {
-        String body = context.request().body();
-
-        final var objectMapper = context.elepy().objectMapper();
         final var dao = modelContext.getCrud();
-
-        try {
-            JavaType type = objectMapper.getTypeFactory().constructCollectionType(List.class, dao.getType());
-
-            final List<T> ts = objectMapper.readValue(body, type);
-            multipleCreate(context, ts, dao, modelContext);
-        } catch (JsonMappingException e) {
-
-            T item = objectMapper.readValue(body, dao.getType());
-            singleCreate(context, item, dao, modelContext);
+        final var reader = reader(context, dao.getType());
+
+        try (JsonParser parser = reader.getFactory().createParser(context.request().bodyAsStream())) {
+            final JsonToken firstToken = parser.nextToken();
+
+            if (firstToken == null) {
+                throw new ElepyException("No item(s) to create");
+            } else if (firstToken == JsonToken.START_ARRAY) {
+                multipleCreate(context, parser, reader, dao, modelContext);
+            } else {
+                singleCreate(context, reader.readValue(parser), dao, modelContext);
+            }
         }
     }
 
     protected void singleCreate(HttpContext context, T item, Crud<T> dao, ModelContext<T> modelContext) throws Exception {
         evaluate(item, modelContext, context, dao);
+        new BatchIntegrityEvaluator<>(modelContext).evaluate(item, EvaluationType.CREATE);
 
         create(context, dao, Collections.singletonList(item));
     }
 
 
-    private void multipleCreate(HttpContext context, List<T> items, Crud<T> dao, ModelContext<T> modelContext) throws Exception {
+    private void multipleCreate(HttpContext context, JsonParser parser, ObjectReader reader, Crud<T> dao, ModelContext<T> modelContext) throws Exception {
+        final List<T> items = new ArrayList<>();
+        final List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            chunk.add(reader.readValue(parser));
+
+            if (chunk.size() == CHUNK_SIZE) {
+                evaluate(chunk, modelContext, context, dao);
+                items.addAll(chunk);
+                chunk.clear();
+            }
+        }
+        evaluate(chunk, modelContext, context, dao);
+        items.addAll(chunk);
+
         if (ReflectionUtils.hasIntegrityRules(dao.getType())) {
-            new AtomicIntegrityEvaluator<T>().evaluate(Lists.newArrayList(Iterables.toArray(items, dao.getType())));
+            new AtomicIntegrityEvaluator<T>().evaluate(items);
         }
 
-        for (T item : items) {
+        create(context, dao, items);
+    }
+
+    private void evaluate(List<T> chunk, ModelContext<T> modelContext, HttpContext context, Crud<T> dao) throws Exception {
+        for (T item : chunk) {
             evaluate(item, modelContext, context, dao);
         }
-        create(context, dao, items);
+        new BatchIntegrityEvaluator<>(modelContext).evaluate(chunk, EvaluationType.CREATE);
     }
 
     private void evaluate(T item, ModelContext<T> modelContext, HttpContext context, Crud<T> dao) throws Exception {
@@ -65,7 +89,6 @@ public class DefaultCreate<T> implements ActionHandler<T> {
         context.validate(item);
 
         modelContext.getIdentityProvider().provideId(item, dao);
-        new DefaultIntegrityEvaluator<>(modelContext).evaluate(item, EvaluationType.CREATE);
     }
 
     private void create(HttpContext context, Crud<T> dao, Iterable<T> items) {
@@ -76,5 +99,13 @@ public class DefaultCreate<T> implements ActionHandler<T> {
         context.result(Message.of("Successfully created item(s)", 201).withProperty("createdRecords", items));
     }
 
-
+    // A handler is created per model, so the reader is built once per model
+    private ObjectReader reader(HttpContext context, Class<T> type) {
+        var cached = reader;
+        if (cached == null) {
+            cached = context.elepy().objectMapper().readerFor(type);
+            reader = cached;
+        }
+        return cached;
+    }
 }
@@ -0,0 +1,66 @@
+package com.elepy.handlers;
+
+import com.elepy.exceptions.ElepyException;
+import com.elepy.exports.ExportFormat;
+import com.elepy.exports.ExportWriter;
+import com.elepy.http.HttpContext;
+import com.elepy.models.ModelContext;
+import com.elepy.models.Property;
+import com.elepy.models.Schema;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Exports the records of a model as NDJSON or CSV, written to the response one record at a time.
+ * <p>
+ * The records are found by {@link DefaultFindMany#stream(HttpContext, com.elepy.dao.Crud)} of the model,
+ * so exports take the same parameters as find requests. The format is taken from the 'format' query parameter
+ * and defaults to NDJSON. The 'fields' query parameter selects the columns of a CSV export.
+ */
+public class DefaultExport<T> implements ActionHandler<T> {
+
+    private final DefaultFindMany<T> findMany;
+
+    public DefaultExport(DefaultFindMany<T> findMany) {
+        this.findMany = findMany;
+    }
+
+    @Override
+    public void handle(HttpContext context, ModelContext<T> modelContext) throws Exception {
+        final ExportFormat format = Optional.ofNullable(context.queryParams("format"))
+                .map(name -> ExportFormat.find(name).orElseThrow(() -> new ElepyException("Exports must be NDJSON or CSV", 400)))
+                .orElse(ExportFormat.NDJSON);
+        final List<Property> columns = columns(context, modelContext.getSchema());
+
+        try (Stream<? extends T> items = findMany.stream(context, modelContext.getCrud())) {
+            context.status(200);
+            context.type(format.getContentType() + "; charset=utf-8");
+            context.response().header("Content-Disposition", String.format("attachment; filename=\"%s.%s\"", modelContext.getName(), format.getExtension()));
+
+            try (ExportWriter writer = ExportWriter.of(format, context.response().outputStream(), context.elepy().objectMapper(), columns)) {
+                final Iterator<? extends T> iterator = items.iterator();
+                while (iterator.hasNext()) {
+                    writer.write(iterator.next());
+                }
+            }
+        } catch (IOException e) {
+            throw new ElepyException("Failed to write the export", 500, e);
+        }
+    }
+
+    private List<Property> columns(HttpContext context, Schema<T> schema) {
+        final List<String> fields = context.request().fieldsForModel(schema);
+
+        if (fields.isEmpty()) {
+            return schema.getProperties();
+        }
+        return fields.stream()
+                .map(schema::getProperty)
+                .collect(Collectors.toList());
+    }
+}
@@ -1,24 +1,51 @@
 package com.elepy.handlers;
 
 import com.elepy.dao.Crud;
+import com.elepy.dao.Cursor;
+import com.elepy.dao.Query;
 import com.elepy.http.HttpContext;
 import com.elepy.models.ModelContext;
 
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class DefaultFindMany<T> implements ActionHandler<T> {
 
 
     public List<? extends T> find(HttpContext context, Crud<T> dao) {
+        try (Stream<? extends T> stream = stream(context, dao)) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Lazily finds the records that get written to the response. Override this, rather than
+     * {@link #find(HttpContext, Crud)}, to change what a find request returns.
+     *
+     * @return A Stream of records, which gets closed after the response is written
+     */
+    public Stream<? extends T> stream(HttpContext context, Crud<T> dao) {
 
         context.type("application/json");
 
         if (context.queryParams("ids") != null) {
-            return dao.getByIds(context.request().recordIds());
-        } else {
+            return dao.getByIds(context.request().recordIds()).stream();
+        }
+
+        final Query query = context.request().parseQuery();
+
+        if (context.queryParams("cursor") == null) {
+            return dao.stream(query);
+        }
 
-            return dao.find(context.request().parseQuery());
+        //Keyset pagination: a full page gets a cursor to the next page
+        final List<T> page = dao.find(query);
+        if (!page.isEmpty() && page.size() == query.getLimit()) {
+            Cursor.after(page.get(page.size() - 1), query)
+                    .ifPresent(cursor -> context.response().header(Cursor.HEADER, cursor.encode()));
         }
+        return page.stream();
     }
 
     public long count(HttpContext context, Crud<T> dao) {
@@ -30,10 +57,11 @@ public class DefaultFindMany<T> implements ActionHandler<T> {
     public final void handle(HttpContext context, ModelContext<T> modelContext) throws Exception {
 
         context.status(200);
+        CacheControls.apply(context, modelContext.getSchema());
         if (context.queryParams("count") != null) {
-            context.response().json(count(context, modelContext.getCrud()));
+            context.conditionalJson(count(context, modelContext.getCrud()));
         } else {
-            context.response().json(find(context, modelContext.getCrud()));
+            context.conditionalJsonArray(stream(context, modelContext.getCrud()));
         }
     }
 }
@@ -5,7 +5,9 @@ import com.elepy.exceptions.ElepyException;
 import com.elepy.http.HttpContext;
 import com.elepy.http.Request;
 import com.elepy.http.Response;
+import com.elepy.http.ETags;
 import com.elepy.models.ModelContext;
+import com.elepy.models.ModelMetadata;
 
 import java.io.Serializable;
 import java.util.Optional;
@@ -28,9 +30,31 @@ public class DefaultFindOne<T> implements ActionHandler<T> {
         }
     }
 
+    /**
+     * @return An ETag of the id and the version of the record, if its class has a version field that is set
+     * and the Crud increments it on every write
+     */
+    public Optional<String> versionETag(T object, Crud<T> crud) {
+        if (!crud.incrementsVersions()) {
+            return Optional.empty();
+        }
+        final ModelMetadata metadata = ModelMetadata.of(object.getClass());
+
+        return metadata.getVersionField()
+                .map(field -> metadata.accessor(field).get(object))
+                .flatMap(version -> metadata.getId(object).map(id -> ETags.ofVersion(id, version)));
+    }
+
     @Override
     public void handle(HttpContext context, ModelContext<T> modelContext) throws Exception {
         T object = findOne(context.request(), context.response(), modelContext.getCrud(), modelContext);
-        context.response().json(object);
+        CacheControls.apply(context, modelContext.getSchema());
+
+        final Optional<String> etag = versionETag(object, modelContext.getCrud());
+        if (etag.isEmpty()) {
+            context.conditionalJson(object);
+        } else if (!context.notModified(etag.get())) {
+            context.response().json(object);
+        }
     }
 }
@@ -0,0 +1,95 @@
+package com.elepy.handlers;
+
+import com.elepy.exceptions.ElepyException;
+import com.elepy.http.HttpContext;
+import com.elepy.imports.ImportError;
+import com.elepy.imports.ImportFormat;
+import com.elepy.imports.ImportListener;
+import com.elepy.imports.ImportResult;
+import com.elepy.imports.ImportSource;
+import com.elepy.imports.Importer;
+import com.elepy.models.ModelContext;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Imports NDJSON or CSV into a model, see {@link Importer}.
+ * <p>
+ * The format is taken from the 'format' query parameter, or else from the Content-Type of the request.
+ * Rows that fail don't stop the rest of the import.
+ * <p>
+ * The response is NDJSON that is written while the import runs: an 'error' line for every row that fails,
+ * a 'progress' line after every batch and a 'done' line at the end, with the number of created and failed records.
+ */
+public class DefaultImport<T> implements ActionHandler<T> {
+
+    @Override
+    public void handle(HttpContext context, ModelContext<T> modelContext) throws Exception {
+        final var elepy = context.elepy();
+        final ImportFormat format = ImportFormat.find(context.queryParamOrDefault("format", context.request().headers("Content-Type")))
+                .orElseThrow(() -> new ElepyException("Imports must be NDJSON or CSV", 415));
+
+        try (ImportSource source = ImportSource.of(format, context.request().bodyAsStream(), elepy.objectMapper(), modelContext.getSchema())) {
+            context.status(200);
+            context.type("application/x-ndjson; charset=utf-8");
+
+            try (JsonGenerator generator = elepy.objectMapper().getFactory().createGenerator(context.response().outputStream(), JsonEncoding.UTF8)) {
+                final ImportResult result = new Importer<>(modelContext, elepy.objectMapper(), elepy.validator())
+                        .run(source, new ProgressWriter(generator));
+
+                final Map<String, Object> done = counts("done", result);
+                done.put("message", String.format("Imported %d of %d record(s)", result.getCreated(), result.getRows()));
+                writeLine(generator, done);
+            }
+        }
+    }
+
+    private static Map<String, Object> counts(String type, ImportResult result) {
+        final Map<String, Object> line = new LinkedHashMap<>();
+        line.put("type", type);
+        line.put("rows", result.getRows());
+        line.put("createdRecords", result.getCreated());
+        line.put("failedRecords", result.getFailed());
+        return line;
+    }
+
+    private static void writeLine(JsonGenerator generator, Map<String, Object> line) {
+        try {
+            generator.writeObject(line);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new ElepyException("Failed to write the progress of the import", 500, e);
+        }
+    }
+
+    private static class ProgressWriter implements ImportListener {
+        private final JsonGenerator generator;
+
+        private ProgressWriter(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public void onError(ImportError error) {
+            final Map<String, Object> line = new LinkedHashMap<>();
+            line.put("type", "error");
+            line.put("row", error.getRow());
+            line.put("message", error.getMessage());
+            writeLine(generator, line);
+        }
+
+        @Override
+        public void onProgress(ImportResult result) {
+            writeLine(generator, counts("progress", result));
+            try {
+                generator.flush();
+            } catch (IOException e) {
+                throw new ElepyException("Failed to write the progress of the import", 500, e);
+            }
+        }
+    }
+}
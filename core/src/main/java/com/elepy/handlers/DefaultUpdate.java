@@ -1,6 +1,7 @@
 package com.elepy.handlers;
 
-import com.elepy.evaluators.DefaultIntegrityEvaluator;
+import com.elepy.evaluators.BatchIntegrityEvaluator;
+import com.elepy.evaluators.DefaultObjectEvaluator;
 import com.elepy.evaluators.EvaluationType;
 import com.elepy.evaluators.ObjectEvaluator;
 import com.elepy.exceptions.ElepyException;
@@ -16,6 +17,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 public class DefaultUpdate<T> implements ActionHandler<T> {
 
@@ -38,6 +40,10 @@ public class DefaultUpdate<T> implements ActionHandler<T> {
         }
     }
 
+    /**
+     * @return The updated item, or null when the changes were patched into the database without reading the item
+     */
+    @SuppressWarnings("unchecked")
     public T handleUpdate(HttpContext context, ModelContext<T> modelContext, ObjectMapper objectMapper) throws Exception {
         String body = context.body();
 
@@ -45,6 +51,17 @@ public class DefaultUpdate<T> implements ActionHandler<T> {
             throw new ElepyException("No changes detected.");
         }
 
+        if (context.request().method().equals("PATCH") && body.startsWith("{")) {
+            final Map<String, Object> changes = MapperUtils.patchableChanges(objectMapper.readValue(body, Map.class), modelContext.getSchema().getJavaClass());
+
+            if (canPatch(modelContext, changes)) {
+                patch(context, changes, modelContext, objectMapper);
+
+                context.result(Message.of("Successfully updated item", 200));
+                return null;
+            }
+        }
+
         T before = modelContext.getCrud().getById(context.recordId()).orElseThrow(() -> new ElepyException("No object found with this ID", 404));
         final T updated = updatedObjectFromRequest(before, context.request(), objectMapper, modelContext.getSchema());
 
@@ -63,13 +80,43 @@ public class DefaultUpdate<T> implements ActionHandler<T> {
 
         context.validate(update);
 
-        new DefaultIntegrityEvaluator<>(modelContext).evaluate(update, EvaluationType.UPDATE);
+        new BatchIntegrityEvaluator<>(modelContext).evaluate(update, EvaluationType.UPDATE);
         modelContext.getCrud().update(update);
 
         return update;
     }
 
 
+    /**
+     * Changes can be patched into the database without reading the item first, when they can be validated on their own:
+     * there are no custom evaluators that need the whole item and no unique properties are changed.
+     */
+    protected boolean canPatch(ModelContext<T> modelContext, Map<String, Object> changes) {
+        final boolean onlyDefaultEvaluators = modelContext.getObjectEvaluators().stream()
+                .allMatch(evaluator -> evaluator.getClass().equals(DefaultObjectEvaluator.class));
+
+        return onlyDefaultEvaluators && ReflectionUtils.getUniqueFields(modelContext.getSchema().getJavaClass()).stream()
+                .map(ReflectionUtils::getPropertyName)
+                .noneMatch(changes::containsKey);
+    }
+
+    /**
+     * Validates only the changed properties and patches them into the database.
+     */
+    protected void patch(HttpContext context, Map<String, Object> changes, ModelContext<T> modelContext, ObjectMapper objectMapper) throws Exception {
+        final Class<T> modelClass = modelContext.getSchema().getJavaClass();
+        final T prototype = objectMapper.convertValue(changes, modelClass);
+
+        new DefaultObjectEvaluator<T>().evaluate(prototype, changes.keySet());
+        context.validate(prototype, changes.keySet().stream()
+                .map(property -> ReflectionUtils.findFieldWithName(modelClass, property).orElseThrow().getName())
+                .collect(Collectors.toList()));
+
+        if (modelContext.getCrud().patch(context.recordId(), changes) == 0) {
+            throw new ElepyException("No object found with this ID", 404);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private T setParamsOnObject(Request request, ObjectMapper objectMapper, T object, Class<T> modelClass) {
         Map<String, Object> map = objectMapper.convertValue(object, Map.class);
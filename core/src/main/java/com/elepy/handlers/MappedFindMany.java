@@ -5,6 +5,8 @@ import com.elepy.http.HttpContext;
 import com.elepy.http.Request;
 
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Use this class to map the results of a RestModel to another type.
@@ -15,11 +17,14 @@ import java.util.List;
 public abstract class MappedFindMany<T, R extends T> extends DefaultFindMany<T> {
 
     @Override
-    public List<? extends T> find(HttpContext context, Crud<T> dao) {
+    public Stream<? extends T> stream(HttpContext context, Crud<T> dao) {
 
-        List<? extends T> result = super.find(context, dao);
+        final List<? extends T> result;
+        try (Stream<? extends T> stream = super.stream(context, dao)) {
+            result = stream.collect(Collectors.toList());
+        }
 
-        return mapValues(result, context.request(), dao);
+        return mapValues(result, context.request(), dao).stream();
 
     }
 
@@ -19,7 +19,8 @@ public abstract class MappedFindOne<T, R> extends DefaultFindOne<T> {
 
         R mapped = map(object, context.request(), modelContext.getCrud());
 
-        context.response().json(mapped);
+        CacheControls.apply(context, modelContext.getSchema());
+        context.conditionalJson(mapped);
     }
 
     public abstract R map(T objectToMap, Request request, Crud<T> crud);
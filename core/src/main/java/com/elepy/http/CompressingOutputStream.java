@@ -0,0 +1,188 @@
+package com.elepy.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Holds back the start of a response until the minimum size of the {@link ResponseCompression} has been written.
+ * Then the headers are set and the rest is compressed on the fly. Responses that are closed before that are sent as they are,
+ * responses that are flushed before that are compressed, as their size isn't known.
+ * <p>
+ * Responses that a handler labelled with {@code Content-Encoding: gzip} are gzipped, unless they already start with the gzip magic number.
+ */
+class CompressingOutputStream extends OutputStream {
+    private static final int BUFFER_SIZE = 8192;
+    private static final byte[] GZIP_MAGIC = {0x1f, (byte) 0x8b};
+
+    private final OutputStream outputStream;
+    private final Response response;
+    private final ContentEncoding encoding;
+    private final boolean gzipAccepted;
+    private final ResponseCompression compression;
+
+    private byte[] pending;
+    private int pendingSize;
+
+    private OutputStream target;
+    private ContentEncoding targetEncoding;
+    private Deflater deflater;
+    private boolean closed;
+
+    /**
+     * @param encoding     The negotiated encoding, or null if responses only get compressed when a handler labelled them
+     * @param gzipAccepted Whether the client accepts gzip, so that responses labelled with gzip get gzipped
+     */
+    CompressingOutputStream(OutputStream outputStream, Response response, ContentEncoding encoding, boolean gzipAccepted, ResponseCompression compression) {
+        this.outputStream = outputStream;
+        this.response = response;
+        this.encoding = encoding;
+        this.gzipAccepted = gzipAccepted;
+        this.compression = compression;
+        this.pending = new byte[encoding == null ? GZIP_MAGIC.length : Math.max(compression.getMinSize(), GZIP_MAGIC.length)];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (target == null) {
+            final int buffered = Math.min(len, pending.length - pendingSize);
+            System.arraycopy(b, off, pending, pendingSize, buffered);
+            pendingSize += buffered;
+            if (pendingSize < pending.length) {
+                return;
+            }
+            start(true);
+            off += buffered;
+            len -= buffered;
+        }
+        target.write(b, off, len);
+    }
+
+    /**
+     * Flushing decides the Content-Encoding, as it commits the headers. Compressed streams are sync flushed,
+     * so that everything written so far reaches the client.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (target == null) {
+            if (pendingSize == 0) {
+                return;
+            }
+            start(true);
+        }
+        target.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (target == null) {
+                start(false);
+            }
+            target.close();
+        } finally {
+            if (deflater != null) {
+                compression.deflaters(targetEncoding).release(deflater);
+                deflater = null;
+            }
+        }
+    }
+
+    /**
+     * @param compress Whether the response gets compressed if it's compressible, false for responses below the minimum size
+     */
+    private void start(boolean compress) throws IOException {
+        final String contentEncoding = response.header("Content-Encoding");
+
+        if (contentEncoding == null) {
+            final boolean compressible = encoding != null && compression.isCompressible(response.type());
+
+            if (compressible) {
+                vary();
+            }
+            if (compressible && compress) {
+                response.header("Content-Encoding", encoding.getHeaderValue());
+                target = deflating(encoding);
+            } else {
+                target = outputStream;
+            }
+        } else if (gzipAccepted && contentEncoding.trim().equalsIgnoreCase(ContentEncoding.GZIP.getHeaderValue()) && !gzipped()) {
+            target = deflating(ContentEncoding.GZIP);
+        } else {
+            target = outputStream;
+        }
+        target.write(pending, 0, pendingSize);
+        pending = null;
+    }
+
+    private OutputStream deflating(ContentEncoding encoding) throws IOException {
+        targetEncoding = encoding;
+        deflater = compression.deflaters(encoding).acquire();
+        return encoding == ContentEncoding.GZIP
+                ? new GzipOutputStream(outputStream, deflater)
+                : new DeflaterOutputStream(outputStream, deflater, BUFFER_SIZE, true);
+    }
+
+    private boolean gzipped() {
+        return pendingSize >= GZIP_MAGIC.length && pending[0] == GZIP_MAGIC[0] && pending[1] == GZIP_MAGIC[1];
+    }
+
+    private void vary() {
+        final String vary = response.header("Vary");
+
+        if (vary == null) {
+            response.header("Vary", "Accept-Encoding");
+        } else if (!vary.trim().equals("*") && !vary.toLowerCase().contains("accept-encoding")) {
+            response.header("Vary", vary + ", Accept-Encoding");
+        }
+    }
+
+    /**
+     * The gzip format around a raw deflate stream, so that a pooled Deflater can be used.
+     * {@link java.util.zip.GZIPOutputStream} always creates its own.
+     */
+    private static class GzipOutputStream extends DeflaterOutputStream {
+        private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+        private final CRC32 crc = new CRC32();
+
+        private GzipOutputStream(OutputStream outputStream, Deflater deflater) throws IOException {
+            super(outputStream, deflater, BUFFER_SIZE, true);
+            outputStream.write(HEADER);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            super.write(b, off, len);
+            crc.update(b, off, len);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (def.finished()) {
+                return;
+            }
+            super.finish();
+            writeInt((int) crc.getValue());
+            writeInt((int) def.getBytesRead());
+        }
+
+        private void writeInt(int i) throws IOException {
+            out.write(i & 0xff);
+            out.write((i >> 8) & 0xff);
+            out.write((i >> 16) & 0xff);
+            out.write((i >> 24) & 0xff);
+        }
+    }
+}
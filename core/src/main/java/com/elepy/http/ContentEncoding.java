@@ -0,0 +1,19 @@
+package com.elepy.http;
+
+/**
+ * The Content-Encodings that responses can be compressed with, in order of preference.
+ */
+public enum ContentEncoding {
+    GZIP("gzip"),
+    DEFLATE("deflate");
+
+    private final String headerValue;
+
+    ContentEncoding(String headerValue) {
+        this.headerValue = headerValue;
+    }
+
+    public String getHeaderValue() {
+        return headerValue;
+    }
+}
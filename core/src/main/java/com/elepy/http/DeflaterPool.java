@@ -0,0 +1,33 @@
+package com.elepy.http;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Reuses Deflaters, as every new Deflater allocates native memory that is only freed by {@link Deflater#end()}.
+ */
+class DeflaterPool {
+
+    private final BlockingQueue<Deflater> deflaters;
+    private final int level;
+    private final boolean nowrap;
+
+    DeflaterPool(int capacity, int level, boolean nowrap) {
+        this.deflaters = new ArrayBlockingQueue<>(capacity);
+        this.level = level;
+        this.nowrap = nowrap;
+    }
+
+    Deflater acquire() {
+        final Deflater deflater = deflaters.poll();
+        return deflater == null ? new Deflater(level, nowrap) : deflater;
+    }
+
+    void release(Deflater deflater) {
+        deflater.reset();
+        if (!deflaters.offer(deflater)) {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.elepy.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Holds back a body of up to {@link ETags#MAX_HASHED_SIZE} bytes to hash it into an ETag.
+ * When the If-None-Match header of the request matches it, 304 Not Modified is sent instead of the body.
+ * Larger bodies are streamed without an ETag.
+ */
+class ETagOutputStream extends OutputStream {
+
+    private final String ifNoneMatch;
+    private final Response response;
+
+    private Buffer pending = new Buffer();
+    private OutputStream target;
+    private boolean closed;
+
+    ETagOutputStream(String ifNoneMatch, Response response) {
+        this.ifNoneMatch = ifNoneMatch;
+        this.response = response;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (target == null) {
+            if (pending.size() + len <= ETags.MAX_HASHED_SIZE) {
+                pending.write(b, off, len);
+                return;
+            }
+            target = response.outputStream();
+            pending.writeTo(target);
+            pending = null;
+        }
+        target.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (target != null) {
+            target.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        if (target == null) {
+            final String etag = ETags.ofContent(pending.bytes(), 0, pending.size());
+
+            response.header("ETag", etag);
+            target = response.outputStream();
+
+            if (ETags.matches(ifNoneMatch, etag)) {
+                response.status(304);
+            } else {
+                pending.writeTo(target);
+            }
+            pending = null;
+        }
+        target.close();
+    }
+
+    private static class Buffer extends ByteArrayOutputStream {
+        private byte[] bytes() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.elepy.http;
+
+import com.google.common.hash.Hashing;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Creates and compares the ETags of conditional GET requests.
+ * <p>
+ * ETags are weak, because the same content can be sent with different Content-Encodings.
+ */
+public final class ETags {
+
+    /**
+     * Bodies up to this size are held back and hashed into an ETag, larger bodies are streamed without one.
+     */
+    public static final int MAX_HASHED_SIZE = 1024 * 1024;
+
+    private ETags() {
+    }
+
+    public static String ofContent(byte[] content, int offset, int length) {
+        return weak(Hashing.murmur3_128().hashBytes(content, offset, length).toString());
+    }
+
+    /**
+     * @return An ETag from the id and the version of a record, so that the record doesn't have to be hashed
+     */
+    public static String ofVersion(Serializable id, Object version) {
+        return weak(Hashing.murmur3_128().hashString(id + ":" + version, StandardCharsets.UTF_8).toString());
+    }
+
+    /**
+     * Compares the ETags of an If-None-Match header with an ETag, using weak comparison.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        final String opaqueTag = opaqueTag(etag);
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            final String trimmed = candidate.trim();
+
+            if (trimmed.equals("*") || opaqueTag(trimmed).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String weak(String hash) {
+        return "W/\"" + hash + "\"";
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -5,8 +5,10 @@ import com.elepy.auth.UserAuthenticationExtension;
 import com.elepy.di.ElepyContext;
 import com.elepy.exceptions.Message;
 
+import java.io.InputStream;
 import java.io.Serializable;
 import java.util.*;
+import java.util.stream.Stream;
 
 public interface HttpContext {
 
@@ -47,6 +49,10 @@ public interface HttpContext {
         request().validate(o);
     }
 
+    default void validate(Object o, Collection<String> javaProperties) {
+        request().validate(o, javaProperties);
+    }
+
     default UserAuthenticationExtension authService() {
         return request().authService();
     }
@@ -89,6 +95,10 @@ public interface HttpContext {
         return request().bodyAsBytes();
     }
 
+    default InputStream bodyAsStream() {
+        return request().bodyAsStream();
+    }
+
     default String queryParams(String queryParam) {
         return request().queryParams(queryParam);
     }
@@ -189,6 +199,40 @@ public interface HttpContext {
         response().type(type);
     }
 
+    /**
+     * Writes an object as JSON, like {@link Response#json(Object)}, with an ETag of the JSON.
+     * When the ETag matches the If-None-Match header of the request, 304 Not Modified is sent instead.
+     */
+    default void conditionalJson(Object object) {
+        response().json(object, new ETagOutputStream(request().headers("If-None-Match"), response()));
+    }
+
+    /**
+     * Writes a JSON array, like {@link Response#jsonArray(Stream)}, with an ETag of the JSON.
+     * When the ETag matches the If-None-Match header of the request, 304 Not Modified is sent instead.
+     * Arrays larger than {@link ETags#MAX_HASHED_SIZE} are streamed without an ETag.
+     */
+    default void conditionalJsonArray(Stream<?> items) {
+        response().jsonArray(items, new ETagOutputStream(request().headers("If-None-Match"), response()));
+    }
+
+    /**
+     * Sets the ETag header of the response. When it matches the If-None-Match header of the request,
+     * the response is ended with 304 Not Modified.
+     *
+     * @return true when the response has been ended and nothing else should be written
+     */
+    default boolean notModified(String etag) {
+        response().header("ETag", etag);
+
+        if (!ETags.matches(request().headers("If-None-Match"), etag)) {
+            return false;
+        }
+        response().status(304);
+        response().result(new byte[0]);
+        return true;
+    }
+
     default String type() {
         return response().type();
     }
@@ -1,8 +1,5 @@
 package com.elepy.http;
 
-
-import com.elepy.exceptions.ElepyException;
-
 public interface HttpService {
 
     void port(int port);
@@ -15,23 +12,31 @@ public interface HttpService {
 
     void stop();
 
+    /**
+     * Sets how responses get compressed. Responses are compressed with a default {@link ResponseCompression}
+     * if this isn't called.
+     * <p>
+     * Services that don't support compression ignore this, and send every response uncompressed.
+     */
+    default void compression(ResponseCompression compression) {
+
+    }
+
+    /**
+     * Serves a classpath resource. The resource is loaded into memory once, when this is called.
+     *
+     * @param gzip Whether a gzipped variant should be sent to clients that accept it
+     */
     default void staticFile(String path, String resourceLocation, String contentType, boolean gzip) {
-        final var file = RouteBuilder.anElepyRoute().acceptType(contentType)
+        staticFile(path, StaticAsset.fromResource(getClass().getClassLoader(), resourceLocation, contentType, null, gzip));
+    }
+
+    default void staticFile(String path, StaticAsset asset) {
+        this.addRoute(RouteBuilder.anElepyRoute().acceptType(asset.getContentType())
                 .method(HttpMethod.GET)
                 .path(path)
-                .route(context -> {
-                    context.type(contentType);
-                    if (gzip)
-                        context.response().header("Content-Encoding", "gzip");
-                    final var resourceAsStream = getClass().getClassLoader().getResourceAsStream(resourceLocation);
-
-                    if (resourceAsStream == null) {
-                        throw new ElepyException(String.format("Resource '%s' not found", resourceLocation));
-                    }
-                    context.response().result(resourceAsStream);
-                }).build();
-
-        this.addRoute(file);
+                .route(asset::serve)
+                .build());
     }
 
     void staticFiles(String path, StaticFileLocation location);
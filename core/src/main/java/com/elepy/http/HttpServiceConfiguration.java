@@ -80,6 +80,11 @@ public class HttpServiceConfiguration implements HttpService {
     }
 
 
+    @Override
+    public void compression(ResponseCompression compression) {
+        add(http -> http.compression(compression));
+    }
+
     @Override
     public void addRoute(Route route) {
         add(http -> http.addRoute(route));
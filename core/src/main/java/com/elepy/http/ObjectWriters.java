@@ -0,0 +1,32 @@
+package com.elepy.http;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * The {@link ObjectWriter}s of {@link Response#DEFAULT_MAPPER}, one per class.
+ * A writer for a type resolves its serializer once, instead of on every response.
+ */
+final class ObjectWriters {
+
+    private static final ObjectWriter UNTYPED = Response.DEFAULT_MAPPER.writer()
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    private static final ClassValue<ObjectWriter> WRITERS = new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            return UNTYPED.forType(type);
+        }
+    };
+
+    private ObjectWriters() {
+    }
+
+    static ObjectWriter forValue(Object value) {
+        return value == null ? UNTYPED : WRITERS.get(value.getClass());
+    }
+
+    static ObjectWriter untyped() {
+        return UNTYPED;
+    }
+}
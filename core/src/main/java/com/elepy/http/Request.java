@@ -13,6 +13,9 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import javax.validation.ConstraintViolation;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.io.Serializable;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -42,6 +45,13 @@ public interface Request {
 
     byte[] bodyAsBytes();
 
+    /**
+     * @return The body as a stream, so that it can be parsed without decoding it to a String first
+     */
+    default InputStream bodyAsStream() {
+        return new ByteArrayInputStream(bodyAsBytes());
+    }
+
     String queryParams(String queryParam);
 
     String queryParamOrDefault(String queryParam, String defaultValue);
@@ -158,7 +168,22 @@ public interface Request {
     }
 
     default void validate(Object o) {
-        final var violations = elepy().validator().validate(o);
+        throwViolations(elepy().validator().validate(o));
+    }
+
+    /**
+     * Only validates the given properties of an object, used for partial updates.
+     *
+     * @param javaProperties The java names of the properties to validate
+     */
+    default void validate(Object o, Collection<String> javaProperties) {
+        final var validator = elepy().validator();
+        throwViolations(javaProperties.stream()
+                .flatMap(property -> validator.validateProperty(o, property).stream())
+                .collect(Collectors.toSet()));
+    }
+
+    private void throwViolations(Set<? extends ConstraintViolation<?>> violations) {
         if (!violations.isEmpty()) {
             var message = violations.stream()
                     .map(cv -> cv == null ? "null" : cv.getPropertyPath().toString().replaceAll("\\.", " -> ") + ": " + cv.getMessage())
@@ -284,15 +309,58 @@ public interface Request {
 
         String q = Optional.ofNullable(queryParams("q")).orElse("");
 
-        final var sortingSpec = sortingForModel(schema(null).orElseThrow());
+        final var schema = schema(null).orElseThrow();
+        final var sortingSpec = sortingForModel(schema);
         String ps = queryParams("pageSize");
         String pn = queryParams("pageNumber");
+        String cursor = queryParams("cursor");
         int pageSize = ps == null ? Integer.MAX_VALUE : Integer.parseInt(ps);
         int pageNumber = pn == null ? 1 : Integer.parseInt(pn);
 
         final var or = or(filtersForModel(null));
-        return create(and(Queries.parse(q).getExpression(), or.getExpressions().isEmpty() ? search("") : or))
-                .purge().sort(sortingSpec).page(pageNumber, pageSize);
+        final var query = create(and(Queries.parse(q).getExpression(), or.getExpressions().isEmpty() ? search("") : or))
+                .purge().sort(sortingSpec).page(pageNumber, pageSize).fields(fieldsForModel(schema));
+
+        if (cursor == null) {
+            return query;
+        }
+
+        //The next cursor is read from the sort keys, so they have to be loaded
+        if (!query.getFields().isEmpty()) {
+            sortingSpec.getMap().keySet().stream().filter(property -> !query.getFields().contains(property)).forEach(query.getFields()::add);
+        }
+
+        //Keyset pagination, an empty cursor requests the first page
+        if (cursor.isBlank()) {
+            sortingSpec.getMap().putIfAbsent(schema.getIdProperty(), SortOption.ASCENDING);
+            return query.skip(0);
+        }
+        return query.after(Cursor.decode(cursor, schema.getFilterPlan()));
+    }
+
+    /**
+     * Parses the 'fields' query parameter: a comma separated list of the properties to load.
+     *
+     * @return The properties, or an empty list to load all properties
+     */
+    default List<String> fieldsForModel(Schema<?> schema) {
+        final String fields = queryParams("fields");
+
+        if (fields == null || fields.isBlank()) {
+            return List.of();
+        }
+        final List<String> properties = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+
+        for (String property : properties) {
+            if (schema.getProperties().stream().noneMatch(p -> p.getName().equals(property))) {
+                throw new ElepyException(String.format("Unknown field: %s", property), 400);
+            }
+        }
+        return properties;
     }
 
     default <T> Optional<Schema> schema(Class<T> t) {
@@ -324,9 +392,9 @@ public interface Request {
                 FilterType.getByQueryString(propertyNameFilter[propertyNameFilter.length - 1]).ifPresent(filterType1 -> {
 
                     schema.ifPresent(schema1 -> {
-                        final var property = schema1.getProperty(propertyName);
-                        if (!filterType1.canBeUsedBy(property)) {
-                            throw new ElepyException(String.format("'%s' can't be applied to the field '%s'", filterType1.getPrettyName(), property.getLabel()), 400);
+                        final var field = schema1.getFilterPlan().get(propertyName);
+                        if (!field.canBeFilteredWith(filterType1)) {
+                            throw new ElepyException(String.format("'%s' can't be applied to the field '%s'", filterType1.getPrettyName(), field.getProperty().getLabel()), 400);
                         }
                     });
 
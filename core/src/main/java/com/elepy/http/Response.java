@@ -2,12 +2,18 @@ package com.elepy.http;
 
 import com.elepy.exceptions.ElepyException;
 import com.elepy.exceptions.Message;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.apache.commons.io.IOUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 public interface Response {
     ObjectMapper DEFAULT_MAPPER = new ObjectMapper();
@@ -30,6 +36,11 @@ public interface Response {
 
     String result();
 
+    /**
+     * @return The raw output stream of the response. Writing to it bypasses the result body.
+     */
+    OutputStream outputStream();
+
     void type(String type);
 
     String type();
@@ -46,9 +57,13 @@ public interface Response {
 
     void redirect(String location, int httpStatusCode);
 
+    /**
+     * Sets a Message as the result. Unlike {@link #json(Object)}, the Message is buffered,
+     * so that a handler can still replace it.
+     */
     default void result(Message message) {
         try {
-            final String s = new ObjectMapper().writeValueAsString(message);
+            final String s = ObjectWriters.forValue(message).writeValueAsString(message);
             result(s, message.getStatus());
             type("application/json");
         } catch (JsonProcessingException e) {
@@ -56,13 +71,62 @@ public interface Response {
         }
     }
 
+    /**
+     * Writes an object as UTF-8 JSON directly to the output stream. This commits the response,
+     * so the status and headers have to be set before calling this.
+     *
+     * @param object the object to write
+     */
     default void json(Object object) {
+        json(object, outputStream());
+    }
+
+    /**
+     * Writes an object as UTF-8 JSON to a stream that wraps the {@link #outputStream()}. The stream is closed afterwards.
+     *
+     * @param object       the object to write
+     * @param outputStream the stream to write to
+     */
+    default void json(Object object, OutputStream outputStream) {
+        type("application/json");
         try {
-            type("application/json");
-            result(DEFAULT_MAPPER.writeValueAsString(object));
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
-            throw new ElepyException("Failed to parse json.");
+            ObjectWriters.forValue(object).writeValue(outputStream, object);
+        } catch (IOException e) {
+            throw new ElepyException("Failed to write json.", 500, e);
+        }
+    }
+
+    /**
+     * Writes a stream of objects as a JSON array, element by element, directly to the output stream.
+     * The stream is closed afterwards.
+     *
+     * @param items the items to write
+     */
+    default void jsonArray(Stream<?> items) {
+        jsonArray(items, outputStream());
+    }
+
+    /**
+     * Writes a stream of objects as a JSON array to a stream that wraps the {@link #outputStream()}.
+     * Both streams are closed afterwards.
+     *
+     * @param items        the items to write
+     * @param outputStream the stream to write to
+     */
+    default void jsonArray(Stream<?> items, OutputStream outputStream) {
+        type("application/json");
+
+        final ObjectWriter writer = ObjectWriters.untyped();
+        try (items; JsonGenerator generator = DEFAULT_MAPPER.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+
+            final Iterator<?> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new ElepyException("Failed to write json.", 500, e);
         }
     }
 
@@ -80,4 +144,12 @@ public interface Response {
     }
 
     void header(String s, String s1);
+
+    /**
+     * @return The value of a response header that has been set, or null. Responses that can't read back
+     * their headers always return null.
+     */
+    default String header(String name) {
+        return null;
+    }
 }
@@ -0,0 +1,181 @@
+package com.elepy.http;
+
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses responses with gzip or deflate, negotiated from the Accept-Encoding header of the request.
+ * <p>
+ * Responses are compressed while they're written. Responses smaller than the minimum size, responses
+ * with a Content-Type that isn't allowed and responses that set their own Content-Encoding are sent as they are.
+ */
+public class ResponseCompression {
+
+    public static final int DEFAULT_MIN_SIZE = 1024;
+
+    public static final Set<String> DEFAULT_CONTENT_TYPES = Set.of(
+            "application/json",
+            "application/x-ndjson",
+            "application/javascript",
+            "application/xml",
+            "image/svg+xml",
+            "text/css",
+            "text/csv",
+            "text/html",
+            "text/javascript",
+            "text/plain",
+            "text/xml"
+    );
+
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+    private final DeflaterPool gzipDeflaters;
+    private final DeflaterPool deflateDeflaters;
+
+    private boolean enabled = true;
+    private int minSize = DEFAULT_MIN_SIZE;
+    private Set<String> contentTypes = DEFAULT_CONTENT_TYPES;
+
+    public ResponseCompression() {
+        this(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param level The compression level, from {@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION}
+     */
+    public ResponseCompression(int level) {
+        this.gzipDeflaters = new DeflaterPool(POOL_SIZE, level, true);
+        this.deflateDeflaters = new DeflaterPool(POOL_SIZE, level, false);
+    }
+
+    public ResponseCompression enabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    /**
+     * @param minSize The minimum size of a response body in bytes before it gets compressed
+     */
+    public ResponseCompression minSize(int minSize) {
+        if (minSize < 0) {
+            throw new IllegalArgumentException("The minimum size can't be negative");
+        }
+        this.minSize = minSize;
+        return this;
+    }
+
+    /**
+     * @param contentTypes The Content-Types that get compressed, without parameters such as charset
+     */
+    public ResponseCompression contentTypes(Collection<String> contentTypes) {
+        this.contentTypes = contentTypes.stream()
+                .map(type -> type.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        return this;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public Set<String> getContentTypes() {
+        return contentTypes;
+    }
+
+    /**
+     * Wraps the output stream of a response, so that it gets compressed if the client accepts it.
+     * The Content-Encoding is decided once the minimum size has been written, or when the stream is flushed or closed.
+     * <p>
+     * Responses that a handler labelled with {@code Content-Encoding: gzip} get gzipped if they aren't already,
+     * even when compression is disabled.
+     *
+     * @param acceptEncoding The Accept-Encoding header of the request
+     * @param response       The response, used to read its Content-Type and set its Content-Encoding
+     * @param outputStream   The raw output stream of the response
+     */
+    public OutputStream compress(String acceptEncoding, Response response, OutputStream outputStream) {
+        final ContentEncoding encoding = enabled ? negotiate(acceptEncoding).orElse(null) : null;
+        final boolean gzipAccepted = accepts(acceptEncoding, ContentEncoding.GZIP);
+
+        if (encoding == null && !gzipAccepted) {
+            return outputStream;
+        }
+        return new CompressingOutputStream(outputStream, response, encoding, gzipAccepted, this);
+    }
+
+    /**
+     * Picks the encoding with the highest quality value in an Accept-Encoding header.
+     * Ties are settled by the order of {@link ContentEncoding}.
+     */
+    public static Optional<ContentEncoding> negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return Optional.empty();
+        }
+        ContentEncoding best = null;
+        double bestQuality = 0;
+
+        for (ContentEncoding encoding : ContentEncoding.values()) {
+            final double quality = quality(acceptEncoding, encoding.getHeaderValue());
+            if (quality > bestQuality) {
+                best = encoding;
+                bestQuality = quality;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    /**
+     * @return Whether an Accept-Encoding header allows an encoding, such as for a precompressed variant
+     */
+    public static boolean accepts(String acceptEncoding, ContentEncoding encoding) {
+        return acceptEncoding != null && quality(acceptEncoding, encoding.getHeaderValue()) > 0;
+    }
+
+    private static double quality(String acceptEncoding, String coding) {
+        double wildcard = 0;
+
+        for (String part : acceptEncoding.split(",")) {
+            final String[] params = part.split(";");
+            final String name = params[0].trim().toLowerCase(Locale.ROOT);
+
+            double quality = 1;
+            for (int i = 1; i < params.length; i++) {
+                final String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals(coding)) {
+                return quality;
+            }
+            if (name.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        return wildcard;
+    }
+
+    boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        return contentTypes.contains(contentType.split(";")[0].trim().toLowerCase(Locale.ROOT));
+    }
+
+    DeflaterPool deflaters(ContentEncoding encoding) {
+        return encoding == ContentEncoding.GZIP ? gzipDeflaters : deflateDeflaters;
+    }
+}
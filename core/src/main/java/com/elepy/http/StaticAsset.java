@@ -0,0 +1,104 @@
+package com.elepy.http;
+
+import com.elepy.exceptions.ElepyConfigException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A static file that is loaded into memory once, to be served by {@link HttpService#staticFile(String, StaticAsset)}.
+ * <p>
+ * A gzipped variant is compressed up front, and sent to clients that accept gzip. Responses have an ETag of the
+ * content, so that clients can revalidate the file without downloading it again.
+ */
+public class StaticAsset {
+
+    private final String contentType;
+    private final String cacheControl;
+    private final byte[] content;
+    private final byte[] gzipped;
+    private final String etag;
+
+    /**
+     * @param content      The file, which must not be changed afterwards
+     * @param contentType  The Content-Type of the file
+     * @param cacheControl The Cache-Control header of the file, or null for none
+     * @param gzip         Whether a gzipped variant should be made. It's only kept when it's smaller.
+     */
+    public StaticAsset(byte[] content, String contentType, String cacheControl, boolean gzip) {
+        this.contentType = contentType;
+        this.cacheControl = cacheControl;
+        this.content = content;
+        this.etag = ETags.ofContent(content, 0, content.length);
+
+        final byte[] compressed = gzip ? gzip(content) : null;
+        this.gzipped = compressed != null && compressed.length < content.length ? compressed : null;
+    }
+
+    /**
+     * @throws ElepyConfigException when the resource doesn't exist
+     */
+    public static StaticAsset fromResource(ClassLoader classLoader, String resourceLocation, String contentType, String cacheControl, boolean gzip) {
+        try (InputStream inputStream = classLoader.getResourceAsStream(resourceLocation)) {
+            if (inputStream == null) {
+                throw new ElepyConfigException(String.format("Resource '%s' not found", resourceLocation));
+            }
+            return new StaticAsset(inputStream.readAllBytes(), contentType, cacheControl, gzip);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getCacheControl() {
+        return cacheControl;
+    }
+
+    public String getETag() {
+        return etag;
+    }
+
+    public void serve(HttpContext context) {
+        context.type(contentType);
+        if (cacheControl != null) {
+            context.response().header("Cache-Control", cacheControl);
+        }
+        if (context.notModified(etag)) {
+            return;
+        }
+        if (gzipped == null) {
+            context.response().result(content);
+            return;
+        }
+
+        context.response().header("Vary", "Accept-Encoding");
+        if (ResponseCompression.accepts(context.request().headers("Accept-Encoding"), ContentEncoding.GZIP)) {
+            context.response().header("Content-Encoding", ContentEncoding.GZIP.getHeaderValue());
+            context.response().result(gzipped);
+        } else {
+            context.response().result(content);
+        }
+    }
+
+    private static byte[] gzip(byte[] content) {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(content.length / 2 + 32);
+
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzipOutputStream.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outputStream.toByteArray();
+    }
+}
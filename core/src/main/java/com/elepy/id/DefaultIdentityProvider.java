@@ -2,7 +2,7 @@ package com.elepy.id;
 
 import com.elepy.dao.Crud;
 import com.elepy.exceptions.ElepyException;
-import com.elepy.utils.ReflectionUtils;
+import com.elepy.models.ModelMetadata;
 
 /**
  * This is the default {@link IdentityProvider} it delegates to {@link HexIdentityProvider} for Strings and {@link NumberIdentityProvider} for numbers.
@@ -16,11 +16,13 @@ public class DefaultIdentityProvider<T> implements IdentityProvider<T> {
 
     @Override
     public void provideId(T item, Crud<T> dao) {
-        if (ReflectionUtils.getId(item).isPresent()) {
+        final ModelMetadata metadata = ModelMetadata.of(item.getClass());
+
+        if (metadata.getId(item).isPresent()) {
             return;
         }
 
-        Class<?> idType = ReflectionUtils.getIdField(item.getClass()).orElseThrow(() -> new ElepyException("Can't findMany the ID field", 500)).getType();
+        Class<?> idType = metadata.getIdField().orElseThrow(() -> new ElepyException("Can't findMany the ID field", 500)).getType();
 
         if (idType == String.class) {
             hexIdentityProvider.provideId(item, dao);
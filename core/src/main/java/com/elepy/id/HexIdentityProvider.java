@@ -2,12 +2,9 @@ package com.elepy.id;
 
 import com.elepy.dao.Crud;
 import com.elepy.exceptions.ElepyConfigException;
-import com.elepy.exceptions.ElepyException;
-import com.elepy.utils.ReflectionUtils;
+import com.elepy.models.ModelMetadata;
 import com.elepy.utils.StringUtils;
 
-import java.lang.reflect.Field;
-
 /**
  * This Identity provider generates a random 10 char hex String for an ID.
  *
@@ -39,21 +36,13 @@ public class HexIdentityProvider<T> implements IdentityProvider<T> {
     public void provideId(T item, Crud<T> dao) {
 
 
-        String currentId = (String) ReflectionUtils.getId(item).orElse("");
-
+        final ModelMetadata metadata = ModelMetadata.of(dao.getType());
 
-        if (currentId.isEmpty() || dao.getById(currentId).isPresent()) {
-            String id = generateId(dao);
+        String currentId = (String) metadata.getId(item).orElse("");
 
-            Field field = ReflectionUtils.getIdField(dao.getType()).orElseThrow(() -> new ElepyException("No ID field", 500));
 
-            field.setAccessible(true);
-
-            try {
-                field.set(item, id);
-            } catch (IllegalAccessException e) {
-                throw new ElepyException("Can't reflectively access ID field: " + field.getName(), 500);
-            }
+        if (currentId.isEmpty() || dao.getById(currentId).isPresent()) {
+            metadata.setId(item, generateId(dao));
         }
 
     }
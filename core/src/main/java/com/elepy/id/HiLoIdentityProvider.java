@@ -0,0 +1,93 @@
+package com.elepy.id;
+
+import com.elepy.annotations.ElepyConstructor;
+import com.elepy.annotations.Property;
+import com.elepy.dao.Crud;
+import com.elepy.dao.Filters;
+import com.elepy.dao.Queries;
+import com.elepy.di.ElepyContext;
+import com.elepy.exceptions.ElepyConfigException;
+import com.elepy.exceptions.ElepyException;
+import com.elepy.models.ModelMetadata;
+
+import java.util.function.Supplier;
+
+/**
+ * This {@link IdentityProvider} hands out numeric ids from blocks that are reserved in the database.
+ * <p>
+ * A block is reserved by creating an {@link IdBlock} with the next hi value, which fails if another server
+ * reserved it first. The ids of block <code>hi</code> are <code>hi * blockSize + 1</code> up to
+ * <code>(hi + 1) * blockSize</code>, so there's one write per block instead of a read per id, and the ids
+ * are (almost) sequential. Ids that aren't handed out before a restart are skipped.
+ * <p>
+ * The {@link IdBlock} model must be added to Elepy. The block size is read from the
+ * <code>elepy.hilo.blockSize</code> property and defaults to 1000.
+ *
+ * @param <T> The model type
+ */
+public class HiLoIdentityProvider<T> implements IdentityProvider<T> {
+
+    public static final int DEFAULT_BLOCK_SIZE = 1000;
+
+    private static final int MAX_RESERVATION_ATTEMPTS = 100;
+
+    private final Supplier<Crud<IdBlock>> blocks;
+    private final long blockSize;
+
+    private long next = 0;
+    private long end = 0;
+
+    @ElepyConstructor
+    public HiLoIdentityProvider(ElepyContext context, @Property(key = "elepy.hilo.blockSize") Integer blockSize) {
+        // The IdBlock Crud might not exist yet when models are being set up
+        this(() -> context.getCrudFor(IdBlock.class), blockSize == null ? DEFAULT_BLOCK_SIZE : blockSize);
+    }
+
+    public HiLoIdentityProvider(Crud<IdBlock> blocks, int blockSize) {
+        this(() -> blocks, blockSize);
+    }
+
+    private HiLoIdentityProvider(Supplier<Crud<IdBlock>> blocks, int blockSize) {
+        if (blockSize < 1) {
+            throw new ElepyConfigException("The block size of a HiLoIdentityProvider must be positive");
+        }
+        this.blocks = blocks;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public void provideId(T item, Crud<T> dao) {
+        final Class<?> idType = Ids.idType(dao.getType());
+
+        if (Ids.isMissing(item)) {
+            ModelMetadata.of(dao.getType()).setId(item, Ids.numericId(generateId(dao.getSchema().getPath()), idType));
+        }
+    }
+
+    public synchronized long generateId(String sequence) {
+        if (next >= end) {
+            final long hi = reserveBlock(sequence);
+            next = hi * blockSize + 1;
+            end = next + blockSize;
+        }
+        return next++;
+    }
+
+    private long reserveBlock(String sequence) {
+        final Crud<IdBlock> crud = blocks.get();
+
+        // Blocks aren't deleted, so the count is the next free hi value unless another server was faster
+        long hi = crud.count(Queries.create(Filters.eq("sequence", sequence)));
+
+        RuntimeException lastFailure = null;
+        for (int attempt = 0; attempt < MAX_RESERVATION_ATTEMPTS; attempt++, hi++) {
+            try {
+                crud.create(new IdBlock(sequence, hi));
+                return hi;
+            } catch (RuntimeException e) {
+                lastFailure = e;
+            }
+        }
+        throw new ElepyException("Failed to reserve a block of ids for: " + sequence, 500, lastFailure);
+    }
+}
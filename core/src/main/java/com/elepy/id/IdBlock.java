@@ -0,0 +1,69 @@
+package com.elepy.id;
+
+import com.elepy.annotations.*;
+import com.elepy.handlers.DisabledHandler;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * A block of ids that is reserved by a {@link HiLoIdentityProvider}. The id of a block is the name of its
+ * sequence and its hi value, so that a block can only be reserved once.
+ * <p>
+ * Add this model to Elepy to use the {@link HiLoIdentityProvider}.
+ */
+@Entity(name = "elepy_id_block")
+@Table(name = "elepy_id_blocks")
+@Model(name = "Id Blocks", path = "/elepy-id-blocks")
+@Hidden
+@Create(handler = DisabledHandler.class)
+@Update(handler = DisabledHandler.class)
+@Delete(handler = DisabledHandler.class)
+@Find(findManyHandler = DisabledHandler.class, findOneHandler = DisabledHandler.class)
+public class IdBlock {
+
+    @Id
+    @Identifier
+    private String id;
+
+    @Column
+    private String sequence;
+
+    @Column
+    private long hi;
+
+    public IdBlock() {
+    }
+
+    public IdBlock(String sequence, long hi) {
+        this.id = sequence + ":" + hi;
+        this.sequence = sequence;
+        this.hi = hi;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(String sequence) {
+        this.sequence = sequence;
+    }
+
+    public long getHi() {
+        return hi;
+    }
+
+    public void setHi(long hi) {
+        this.hi = hi;
+    }
+}
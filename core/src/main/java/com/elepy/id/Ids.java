@@ -0,0 +1,53 @@
+package com.elepy.id;
+
+import com.elepy.exceptions.ElepyConfigException;
+import com.elepy.models.ModelMetadata;
+import org.apache.commons.lang3.ClassUtils;
+
+import java.io.Serializable;
+
+/**
+ * Helpers for the IdentityProviders that generate ids without checking the database.
+ */
+class Ids {
+
+    private Ids() {
+    }
+
+    /**
+     * @return true if the item has no id yet: no value, an empty String or a number that's not positive
+     */
+    static boolean isMissing(Object item) {
+        final Serializable id = ModelMetadata.of(item.getClass()).getId(item).orElse(null);
+
+        if (id == null) {
+            return true;
+        }
+        if (id instanceof Number) {
+            return ((Number) id).longValue() <= 0;
+        }
+        return id.toString().isEmpty();
+    }
+
+    static Class<?> idType(Class<?> modelType) {
+        return ClassUtils.primitiveToWrapper(ModelMetadata.of(modelType).getIdField()
+                .orElseThrow(() -> new ElepyConfigException(modelType.getName() + " has no id field"))
+                .getType());
+    }
+
+    /**
+     * Converts a numeric id to the type of the id field: Long, Integer or String.
+     */
+    static Serializable numericId(long id, Class<?> idType) {
+        if (idType.equals(Long.class)) {
+            return id;
+        }
+        if (idType.equals(String.class)) {
+            return String.valueOf(id);
+        }
+        if (idType.equals(Integer.class)) {
+            return Math.toIntExact(id);
+        }
+        throw new ElepyConfigException(String.format("Can't generate a numeric id for a %s id field", idType.getSimpleName()));
+    }
+}
@@ -2,10 +2,9 @@ package com.elepy.id;
 
 import com.elepy.dao.Crud;
 import com.elepy.exceptions.ElepyException;
-import com.elepy.utils.ReflectionUtils;
+import com.elepy.models.ModelMetadata;
 
 import java.io.Serializable;
-import java.lang.reflect.Field;
 import java.util.Random;
 
 /**
@@ -18,31 +17,25 @@ public class NumberIdentityProvider<T> implements IdentityProvider<T> {
 
     @Override
     public void provideId(T item, Crud<T> dao) {
-        Class<?> idType = ReflectionUtils.getIdField(item.getClass()).orElseThrow(() -> new ElepyException("Can't findMany the ID field", 500)).getType();
+        Class<?> idType = ModelMetadata.of(item.getClass()).getIdField().orElseThrow(() -> new ElepyException("Can't findMany the ID field", 500)).getType();
 
         provideId(item, dao, idType);
     }
 
     public void provideId(T item, Crud<T> dao, Class<?> idType) {
-        Field idProperty = ReflectionUtils.getIdField(dao.getType()).orElseThrow(() -> new ElepyException("No ID field", 500));
+        final ModelMetadata metadata = ModelMetadata.of(dao.getType());
 
-        idProperty.setAccessible(true);
-        try {
-            Serializable id = (Serializable) idProperty.get(item);
+        Serializable id = metadata.getId(item).orElse(null);
 
 
-            long longId = id == null ? -1 : Long.parseLong(id.toString());
+        long longId = id == null ? -1 : Long.parseLong(id.toString());
 
-            if (longId <= 0 || dao.getById(id).isPresent()) {
-                idProperty.set(item, generateId(dao, org.apache.commons.lang3.ClassUtils.primitiveToWrapper(idType)));
-            }
-
-        } catch (IllegalAccessException e) {
-            throw new ElepyException("Failed to reflectively access: " + idProperty.getName(), 500);
+        if (longId <= 0 || dao.getById(id).isPresent()) {
+            metadata.setId(item, generateId(dao, org.apache.commons.lang3.ClassUtils.primitiveToWrapper(idType)));
         }
     }
 
-    private Object generateId(Crud<T> dao, Class<?> wrappedIdType) {
+    private Serializable generateId(Crud<T> dao, Class<?> wrappedIdType) {
         Serializable randomId;
         if (wrappedIdType.equals(Long.class)) {
             randomId = Math.abs(random.nextLong());
@@ -0,0 +1,79 @@
+package com.elepy.id;
+
+import com.elepy.annotations.ElepyConstructor;
+import com.elepy.annotations.Property;
+import com.elepy.dao.Crud;
+import com.elepy.exceptions.ElepyConfigException;
+import com.elepy.models.ModelMetadata;
+
+import java.time.Clock;
+
+/**
+ * This {@link IdentityProvider} generates Snowflake ids: 64 bit numbers made of the milliseconds since
+ * 2020-01-01 (41 bits), the id of the node that generated them (10 bits) and a sequence number (12 bits).
+ * <p>
+ * Every node of an application must have its own node id, between 0 and 1023, which is read from the
+ * <code>elepy.nodeId</code> property. Nodes generate up to 4096 ids per millisecond without coordinating
+ * with each other or checking the database. The ids of a node are strictly increasing, even when the clock
+ * moves backwards, so inserts stay at the end of the id index.
+ * <p>
+ * Works with Long and String ids.
+ *
+ * @param <T> The model type
+ */
+public class SnowflakeIdentityProvider<T> implements IdentityProvider<T> {
+
+    public static final long EPOCH = 1577836800000L;
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+    private final Clock clock;
+
+    private long lastTimestamp = -1;
+    private long sequence;
+
+    @ElepyConstructor
+    public SnowflakeIdentityProvider(@Property(key = "elepy.nodeId") Integer nodeId) {
+        this(nodeId == null ? 0 : nodeId, Clock.systemUTC());
+    }
+
+    public SnowflakeIdentityProvider(long nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new ElepyConfigException(String.format("The node id must be between 0 and %d", MAX_NODE_ID));
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    @Override
+    public void provideId(T item, Crud<T> dao) {
+        final Class<?> idType = Ids.idType(dao.getType());
+
+        if (idType.equals(Integer.class)) {
+            throw new ElepyConfigException("Snowflake ids don't fit in an Integer, use a Long or String id");
+        }
+        if (Ids.isMissing(item)) {
+            ModelMetadata.of(dao.getType()).setId(item, Ids.numericId(generateId(), idType));
+        }
+    }
+
+    public synchronized long generateId() {
+        final long now = clock.millis();
+
+        if (now > lastTimestamp) {
+            lastTimestamp = now;
+            sequence = 0;
+        } else {
+            // Same millisecond, or the clock moved backwards: continue from the last id
+            sequence = (sequence + 1) & MAX_SEQUENCE;
+            if (sequence == 0) {
+                lastTimestamp++;
+            }
+        }
+        return ((lastTimestamp - EPOCH) << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+}
@@ -0,0 +1,93 @@
+package com.elepy.id;
+
+import com.elepy.dao.Crud;
+import com.elepy.exceptions.ElepyConfigException;
+import com.elepy.models.ModelMetadata;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+
+/**
+ * This {@link IdentityProvider} generates <a href="https://github.com/ulid/spec">ULIDs</a> for String ids:
+ * 26 character, lexicographically sortable ids that start with the time they were generated at.
+ * <p>
+ * Ids that are generated in the same millisecond get an incremented random part, so that the ids
+ * of a provider are strictly increasing, even when the clock moves backwards. The 80 random bits make
+ * collisions between servers practically impossible, so the database is never checked for existing ids.
+ * Because new ids are always the highest, inserts stay at the end of the id index.
+ *
+ * @param <T> The model type
+ */
+public class UlidIdentityProvider<T> implements IdentityProvider<T> {
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final long MAX_TIMESTAMP = (1L << 48) - 1;
+    private static final long MAX_RANDOM_HIGH = (1L << 16) - 1;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Clock clock;
+
+    private long lastTimestamp = -1;
+    private long randomHigh;
+    private long randomLow;
+
+    public UlidIdentityProvider() {
+        this(Clock.systemUTC());
+    }
+
+    public UlidIdentityProvider(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public void provideId(T item, Crud<T> dao) {
+        if (!Ids.idType(dao.getType()).equals(String.class)) {
+            throw new ElepyConfigException("ULIDs can only be used for String ids");
+        }
+        if (Ids.isMissing(item)) {
+            ModelMetadata.of(dao.getType()).setId(item, generateId());
+        }
+    }
+
+    public synchronized String generateId() {
+        final long now = clock.millis();
+
+        if (now > lastTimestamp) {
+            lastTimestamp = now;
+            randomHigh = random.nextInt() & MAX_RANDOM_HIGH;
+            randomLow = random.nextLong();
+        } else {
+            increment();
+        }
+        if (lastTimestamp > MAX_TIMESTAMP) {
+            throw new IllegalStateException("The time is too far in the future for a ULID");
+        }
+        return encode(lastTimestamp, randomHigh, randomLow);
+    }
+
+    // The 80 random bits overflow into the next millisecond, which keeps the ids ordered
+    private void increment() {
+        randomLow++;
+        if (randomLow == 0) {
+            randomHigh = (randomHigh + 1) & MAX_RANDOM_HIGH;
+            if (randomHigh == 0) {
+                lastTimestamp++;
+            }
+        }
+    }
+
+    private static String encode(long timestamp, long randomHigh, long randomLow) {
+        final char[] chars = new char[26];
+
+        for (int i = 9; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (timestamp & 31)];
+            timestamp >>>= 5;
+        }
+        for (int i = 25; i >= 10; i--) {
+            chars[i] = ALPHABET[(int) (randomLow & 31)];
+            randomLow = (randomLow >>> 5) | ((randomHigh & 31) << 59);
+            randomHigh >>>= 5;
+        }
+        return new String(chars);
+    }
+}
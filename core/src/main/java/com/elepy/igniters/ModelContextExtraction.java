@@ -1,10 +1,14 @@
 package com.elepy.igniters;
 
 import com.elepy.Elepy;
+import com.elepy.annotations.Cached;
+import com.elepy.annotations.CachedCounts;
 import com.elepy.annotations.Dao;
 import com.elepy.annotations.DaoFactory;
 import com.elepy.annotations.Evaluators;
 import com.elepy.annotations.IdProvider;
+import com.elepy.dao.CachingCrud;
+import com.elepy.dao.CountCachingCrud;
 import com.elepy.dao.Crud;
 import com.elepy.evaluators.DefaultObjectEvaluator;
 import com.elepy.evaluators.ObjectEvaluator;
@@ -20,6 +24,7 @@ import java.util.List;
 public class ModelContextExtraction {
 
     public static <T> ModelContext<T> extractContext(Schema<T> schema, Elepy elepy) {
+        schema.refreshFilterPlan();
         var crud = extractCrud(schema, elepy);
         elepy.registerDependency(Crud.class, schema.getPath(), crud);
         var objectEvaluators = extractEvaluators(schema, elepy);
@@ -68,10 +73,17 @@ public class ModelContextExtraction {
                 : elepy.initialize(annotation.value());
 
         final Dao daoAnnotation = Annotations.get(modelType, Dao.class);
-        if (daoAnnotation != null) {
-            return elepy.initialize(daoAnnotation.value());
-        } else {
-            return crudProvider.crudFor(schema);
+        Crud<T> crud = daoAnnotation != null ? elepy.initialize(daoAnnotation.value()) : crudProvider.crudFor(schema);
+
+        final Cached cached = Annotations.get(modelType, Cached.class);
+        if (cached != null) {
+            crud = new CachingCrud<>(crud, cached.expireAfterSeconds(), cached.maximumSize());
+        }
+
+        final CachedCounts cachedCounts = Annotations.get(modelType, CachedCounts.class);
+        if (cachedCounts != null) {
+            return new CountCachingCrud<>(crud, cachedCounts.expireAfterSeconds(), cachedCounts.maximumSize());
         }
+        return crud;
     }
 } 
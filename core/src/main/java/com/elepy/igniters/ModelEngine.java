@@ -75,7 +75,7 @@ public class ModelEngine {
 
                     ctx.requirePermissions(Permissions.AUTHENTICATED);
 
-                    ctx.response().json(pistons.stream().map(ModelPiston::getSchema).collect(Collectors.toList()));
+                    ctx.conditionalJson(pistons.stream().map(ModelPiston::getSchema).collect(Collectors.toList()));
 
                 })
                 .build();
@@ -4,6 +4,10 @@ import com.elepy.Elepy;
 import com.elepy.annotations.ExtraRoutes;
 import com.elepy.exceptions.Message;
 import com.elepy.handlers.ActionHandler;
+import com.elepy.handlers.DefaultCreate;
+import com.elepy.handlers.DefaultExport;
+import com.elepy.handlers.DefaultFindMany;
+import com.elepy.handlers.DefaultImport;
 import com.elepy.http.HttpAction;
 import com.elepy.http.HttpContext;
 import com.elepy.http.Route;
@@ -11,6 +15,7 @@ import com.elepy.http.RouteBuilder;
 import com.elepy.models.ModelContext;
 import com.elepy.models.Schema;
 import com.elepy.utils.Annotations;
+import com.elepy.utils.DefaultActions;
 import com.elepy.utils.ReflectionUtils;
 
 import java.util.ArrayList;
@@ -52,7 +57,7 @@ public class ModelPiston<T> {
     }
 
     private List<Route> getAllRoutes() {
-        return Stream.of(routesFromDefaultActions(), routesFromCustomActions(), routesFromAnnotation())
+        return Stream.of(routesFromExport(), routesFromDefaultActions(), routesFromImport(), routesFromCustomActions(), routesFromAnnotation())
                 .flatMap(s -> s)
                 .collect(Collectors.toList());
     }
@@ -68,6 +73,47 @@ public class ModelPiston<T> {
                         .build());
     }
 
+    /**
+     * Imports skip the create handler, so they're only possible for models that use the default one.
+     */
+    private Stream<Route> routesFromImport() {
+        final ActionHandler<T> createHandler = serviceExtraction.getDefaultActions().get(ModelHandlers.Default.CREATE).getActionHandler();
+
+        if (createHandler.getClass() != DefaultCreate.class) {
+            return Stream.empty();
+        }
+        final HttpAction action = DefaultActions.getImportFromSchema(schema);
+        final DefaultImport<T> importHandler = new DefaultImport<>();
+
+        return Stream.of(anElepyRoute()
+                .path(action.getPath())
+                .addPermissions(action.getRequiredPermissions())
+                .method(action.getMethod())
+                .route(ctx -> importHandler.handle(injectModelClassInHttpContext(ctx), modelContext))
+                .build());
+    }
+
+    /**
+     * Exports find their records with the find handler, so they're only possible for models that use a {@link DefaultFindMany}.
+     * They come before the default actions, so that '/export' isn't matched as the id of a record.
+     */
+    private Stream<Route> routesFromExport() {
+        final ActionHandler<T> findHandler = serviceExtraction.getDefaultActions().get(ModelHandlers.Default.FIND_MANY).getActionHandler();
+
+        if (!(findHandler instanceof DefaultFindMany)) {
+            return Stream.empty();
+        }
+        final HttpAction action = DefaultActions.getExportFromSchema(schema);
+        final DefaultExport<T> exportHandler = new DefaultExport<>((DefaultFindMany<T>) findHandler);
+
+        return Stream.of(anElepyRoute()
+                .path(action.getPath())
+                .addPermissions(action.getRequiredPermissions())
+                .method(action.getMethod())
+                .route(ctx -> exportHandler.handle(injectModelClassInHttpContext(ctx), modelContext))
+                .build());
+    }
+
     private Stream<Route> routesFromAnnotation() {
         final ExtraRoutes extraRoutesAnnotation = Annotations.get(schema.getJavaClass(), ExtraRoutes.class);
 
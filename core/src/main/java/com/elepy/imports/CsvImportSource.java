@@ -0,0 +1,89 @@
+package com.elepy.imports;
+
+import com.elepy.exceptions.ElepyException;
+import com.elepy.models.FieldType;
+import com.elepy.models.Property;
+import com.elepy.models.Schema;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads CSV with a header row. The header contains the names or labels of the properties of the schema.
+ * <p>
+ * Values are read as Strings and converted by Jackson, except for arrays and objects, which are written as JSON.
+ * Empty values are left out.
+ */
+class CsvImportSource implements ImportSource {
+
+    private final CsvReader reader;
+    private final ObjectMapper objectMapper;
+    private final List<Property> columns;
+    private long rowNumber = 1;
+
+    CsvImportSource(CsvReader reader, ObjectMapper objectMapper, Schema<?> schema) throws IOException {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+
+        final List<String> header = reader.readRecord();
+        if (header == null) {
+            throw new ElepyException("The CSV has no header row");
+        }
+        this.columns = new ArrayList<>();
+        for (String column : header) {
+            columns.add(findProperty(schema, column.trim()));
+        }
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        List<String> record;
+        do {
+            record = reader.readRecord();
+            rowNumber++;
+        } while (record != null && record.size() == 1 && record.get(0).isBlank());
+
+        if (record == null) {
+            return null;
+        }
+        final List<String> values = record;
+        return new ImportRow(rowNumber, () -> toJson(values));
+    }
+
+    private ObjectNode toJson(List<String> values) throws IOException {
+        if (values.size() != columns.size()) {
+            throw new IOException(String.format("Expected %d values, but found %d", columns.size(), values.size()));
+        }
+        final ObjectNode node = objectMapper.createObjectNode();
+
+        for (int i = 0; i < values.size(); i++) {
+            final Property property = columns.get(i);
+            final String value = values.get(i);
+
+            if (value.isEmpty()) {
+                continue;
+            }
+            if (property.getType() == FieldType.ARRAY || property.getType() == FieldType.OBJECT) {
+                node.set(property.getName(), objectMapper.readTree(value));
+            } else {
+                node.put(property.getName(), value);
+            }
+        }
+        return node;
+    }
+
+    private static Property findProperty(Schema<?> schema, String column) {
+        return schema.getProperties().stream()
+                .filter(property -> property.getName().equals(column) || column.equalsIgnoreCase(property.getLabel()))
+                .findFirst()
+                .orElseThrow(() -> new ElepyException(String.format("Unknown column: '%s'", column)));
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
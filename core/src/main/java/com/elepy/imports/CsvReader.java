@@ -0,0 +1,99 @@
+package com.elepy.imports;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV records one at a time, so that an input never has to be in memory at once.
+ * <p>
+ * Fields can be quoted with double quotes, in which case they can contain separators, line breaks
+ * and escaped quotes (""). Records can be separated by CRLF or LF.
+ */
+public class CsvReader implements Closeable {
+    private static final int BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+    private final char separator;
+    private int next = -2;
+
+    public CsvReader(Reader reader) {
+        this(reader, ',');
+    }
+
+    public CsvReader(Reader reader, char separator) {
+        this.reader = reader;
+        this.separator = separator;
+    }
+
+    /**
+     * @return The fields of the next record, or null when there are no more records
+     * @throws IOException when the input can't be read or when a quoted field isn't closed
+     */
+    public List<String> readRecord() throws IOException {
+        if (peek() == -1) {
+            return null;
+        }
+        final List<String> record = new ArrayList<>();
+        final StringBuilder field = new StringBuilder();
+
+        while (true) {
+            final int c = read();
+
+            if (c == '"' && field.length() == 0) {
+                readQuoted(field);
+            } else if (c == separator) {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' && peek() == '\n') {
+                read();
+                record.add(field.toString());
+                return record;
+            } else if (c == '\n' || c == -1) {
+                record.add(field.toString());
+                return record;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    private void readQuoted(StringBuilder field) throws IOException {
+        while (true) {
+            final int c = read();
+
+            if (c == -1) {
+                throw new IOException("A quoted field isn't closed");
+            } else if (c != '"') {
+                field.append((char) c);
+            } else if (peek() == '"') {
+                field.append((char) read());
+            } else {
+                return;
+            }
+        }
+    }
+
+    private int peek() throws IOException {
+        if (next == -2) {
+            next = reader.read();
+            if (next == BYTE_ORDER_MARK) {
+                next = reader.read();
+            }
+        }
+        return next;
+    }
+
+    private int read() throws IOException {
+        final int c = peek();
+        next = reader.read();
+        return c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,26 @@
+package com.elepy.imports;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A row that couldn't be imported.
+ */
+public class ImportError {
+    private final long row;
+    private final String message;
+
+    @JsonCreator
+    public ImportError(@JsonProperty("row") long row, @JsonProperty("message") String message) {
+        this.row = row;
+        this.message = message;
+    }
+
+    public long getRow() {
+        return row;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
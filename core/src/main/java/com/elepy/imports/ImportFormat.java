@@ -0,0 +1,34 @@
+package com.elepy.imports;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+public enum ImportFormat {
+    NDJSON("application/x-ndjson", "application/jsonl", "application/x-jsonlines", "application/json"),
+    CSV("text/csv");
+
+    private final List<String> contentTypes;
+
+    ImportFormat(String... contentTypes) {
+        this.contentTypes = List.of(contentTypes);
+    }
+
+    public List<String> getContentTypes() {
+        return contentTypes;
+    }
+
+    /**
+     * @param name The name of a format, such as "csv", or a Content-Type header
+     */
+    public static Optional<ImportFormat> find(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        final String type = name.split(";")[0].trim().toLowerCase();
+
+        return Arrays.stream(values())
+                .filter(format -> format.name().equalsIgnoreCase(type) || format.contentTypes.contains(type))
+                .findFirst();
+    }
+}
@@ -0,0 +1,21 @@
+package com.elepy.imports;
+
+/**
+ * Follows an {@link Importer} while it runs. It's called on the thread that runs the import, never concurrently.
+ */
+public interface ImportListener {
+
+    /**
+     * Called for every row that fails, including the rows that aren't kept in the {@link ImportResult}.
+     */
+    default void onError(ImportError error) {
+
+    }
+
+    /**
+     * Called after every batch has been written.
+     */
+    default void onProgress(ImportResult result) {
+
+    }
+}
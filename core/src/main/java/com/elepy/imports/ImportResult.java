@@ -0,0 +1,43 @@
+package com.elepy.imports;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The progress of an import. Only the first {@value #MAX_REPORTED_ERRORS} errors are kept, failed rows are always counted.
+ */
+public class ImportResult {
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long created;
+    private long failed;
+    private final List<ImportError> errors = new ArrayList<>();
+
+    public long getRows() {
+        return created + failed;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<ImportError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    void addCreated(long count) {
+        created += count;
+    }
+
+    void addError(ImportError error) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(error);
+        }
+    }
+}
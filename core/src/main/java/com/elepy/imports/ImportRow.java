@@ -0,0 +1,36 @@
+package com.elepy.imports;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+
+/**
+ * A row of an import that has been read, but not yet parsed. Rows are parsed by the evaluation stage
+ * of the {@link Importer}, so that parsing happens in parallel and a malformed row only fails itself.
+ */
+public class ImportRow {
+
+    private final long number;
+    private final Parser parser;
+
+    public ImportRow(long number, Parser parser) {
+        this.number = number;
+        this.parser = parser;
+    }
+
+    /**
+     * @return The number of the row in the input, starting at 1
+     */
+    public long getNumber() {
+        return number;
+    }
+
+    public JsonNode parse() throws IOException {
+        return parser.parse();
+    }
+
+    @FunctionalInterface
+    public interface Parser {
+        JsonNode parse() throws IOException;
+    }
+}
@@ -0,0 +1,31 @@
+package com.elepy.imports;
+
+import com.elepy.models.Schema;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The rows of an import, read one at a time from a stream.
+ */
+public interface ImportSource extends Closeable {
+
+    /**
+     * @return The next row, or null when there are no more rows
+     */
+    ImportRow next() throws IOException;
+
+    static ImportSource of(ImportFormat format, InputStream inputStream, ObjectMapper objectMapper, Schema<?> schema) throws IOException {
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+
+        if (format == ImportFormat.CSV) {
+            return new CsvImportSource(new CsvReader(reader), objectMapper, schema);
+        }
+        return new NdjsonImportSource(reader, objectMapper);
+    }
+}
@@ -0,0 +1,293 @@
+package com.elepy.imports;
+
+import com.elepy.dao.Crud;
+import com.elepy.evaluators.AtomicIntegrityEvaluator;
+import com.elepy.evaluators.BatchIntegrityEvaluator;
+import com.elepy.evaluators.EvaluationType;
+import com.elepy.evaluators.ObjectEvaluator;
+import com.elepy.exceptions.ElepyException;
+import com.elepy.models.ModelContext;
+import com.elepy.models.ModelMetadata;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Imports the rows of an {@link ImportSource} into the Crud of a model, without aborting on rows that fail.
+ * <p>
+ * Rows are read in batches. Batches are parsed, run through the {@link ObjectEvaluator}s and validated in parallel.
+ * Then, in the order they were read, their ids are provided, their uniqueness is checked and they're created
+ * with one {@link Crud#create(Iterable)} per batch. Identity providers and uniqueness checks depend on the
+ * records that were created before, which is why that stage isn't parallel.
+ * <p>
+ * Reading waits for the oldest batch to be created when too many batches are waiting, so that only a
+ * few batches are in memory at once, no matter how large the input is.
+ * <p>
+ * Because batches are evaluated at the same time, the {@link ObjectEvaluator}s of the model must be thread-safe.
+ * The identity provider and the Crud are only called from the thread that runs the import.
+ * <p>
+ * Failed rows and the progress after every batch are reported to an {@link ImportListener}.
+ */
+public class Importer<T> {
+    private static final Logger logger = LoggerFactory.getLogger(Importer.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private static final long PROGRESS_INTERVAL = 100_000;
+
+    private final ModelContext<T> modelContext;
+    private final Crud<T> crud;
+    private final ObjectReader reader;
+    private final Validator validator;
+    private final BatchIntegrityEvaluator<T> integrityEvaluator;
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    public Importer(ModelContext<T> modelContext, ObjectMapper objectMapper, Validator validator) {
+        this.modelContext = modelContext;
+        this.crud = modelContext.getCrud();
+        this.reader = objectMapper.readerFor(modelContext.getModelType());
+        this.validator = validator;
+        this.integrityEvaluator = new BatchIntegrityEvaluator<>(crud);
+    }
+
+    public Importer<T> batchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be at least 1");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    public Importer<T> parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public ImportResult run(ImportSource source) {
+        return run(source, new ImportListener() {
+        });
+    }
+
+    public ImportResult run(ImportSource source, ImportListener listener) {
+        final ImportResult result = new ImportResult();
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism, new ImportThreadFactory());
+        final Deque<Future<Batch<T>>> pending = new ArrayDeque<>();
+        final int maxPending = parallelism * 2;
+
+        try {
+            List<ImportRow> rows = new ArrayList<>(batchSize);
+            long lastRow = 0;
+            try {
+                for (ImportRow row = source.next(); row != null; row = source.next()) {
+                    lastRow = row.getNumber();
+                    rows.add(row);
+
+                    if (rows.size() == batchSize) {
+                        if (pending.size() >= maxPending) {
+                            write(await(pending.poll()), result, listener);
+                        }
+                        final List<ImportRow> batch = rows;
+                        pending.add(executor.submit(() -> evaluate(batch)));
+                        rows = new ArrayList<>(batchSize);
+                    }
+                }
+            } catch (IOException | ElepyException e) {
+                // The rows that were read before are still imported
+                addError(result, listener, new ImportError(lastRow + 1, "Can't read the rest of the import: " + e.getMessage()));
+            }
+            if (!rows.isEmpty()) {
+                final List<ImportRow> batch = rows;
+                pending.add(executor.submit(() -> evaluate(batch)));
+            }
+            while (!pending.isEmpty()) {
+                write(await(pending.poll()), result, listener);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        logger.info("Imported {} of {} rows into {}", result.getCreated(), result.getRows(), modelContext.getPath());
+        return result;
+    }
+
+    private Batch<T> evaluate(List<ImportRow> rows) {
+        final Batch<T> batch = new Batch<>();
+
+        for (ImportRow row : rows) {
+            try {
+                final T item = reader.readValue(row.parse());
+
+                for (ObjectEvaluator<T> objectEvaluator : modelContext.getObjectEvaluators()) {
+                    objectEvaluator.evaluate(item);
+                }
+                validate(item);
+                batch.rows.add(row.getNumber());
+                batch.items.add(item);
+            } catch (Exception e) {
+                batch.errors.add(new ImportError(row.getNumber(), message(e)));
+            }
+        }
+        return batch;
+    }
+
+    private void write(Batch<T> batch, ImportResult result, ImportListener listener) {
+        final long rowsBefore = result.getRows();
+        batch.errors.forEach(error -> addError(result, listener, error));
+
+        final List<Long> rows = new ArrayList<>();
+        final List<T> items = new ArrayList<>();
+        for (int i = 0; i < batch.items.size(); i++) {
+            try {
+                modelContext.getIdentityProvider().provideId(batch.items.get(i), crud);
+                rows.add(batch.rows.get(i));
+                items.add(batch.items.get(i));
+            } catch (RuntimeException e) {
+                addError(result, listener, new ImportError(batch.rows.get(i), message(e)));
+            }
+        }
+
+        if (isUnique(items)) {
+            try {
+                crud.create(items);
+                result.addCreated(items.size());
+            } catch (RuntimeException e) {
+                // Some databases keep the items that were inserted before the failure
+                writeNotStored(rows, items, result, listener);
+            }
+        } else {
+            // Find the rows that conflict by creating them one at a time
+            writeOneByOne(rows, items, result, listener);
+        }
+        logProgress(rowsBefore, result);
+        listener.onProgress(result);
+    }
+
+    private void addError(ImportResult result, ImportListener listener, ImportError error) {
+        result.addError(error);
+        listener.onError(error);
+    }
+
+    private boolean isUnique(List<T> items) {
+        try {
+            new AtomicIntegrityEvaluator<T>().evaluate(items);
+            integrityEvaluator.evaluate(items, EvaluationType.CREATE);
+            return true;
+        } catch (ElepyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Counts the items that are already stored as created and writes the others one at a time, to find the rows that failed.
+     */
+    private void writeNotStored(List<Long> rows, List<T> items, ImportResult result, ImportListener listener) {
+        final ModelMetadata metadata = ModelMetadata.of(crud.getType());
+        final Set<Serializable> stored = crud.getByIds(items.stream()
+                .map(item -> metadata.getId(item).orElse(null))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()))
+                .stream()
+                .map(item -> metadata.getId(item).orElse(null))
+                .collect(Collectors.toSet());
+
+        final List<Long> remainingRows = new ArrayList<>();
+        final List<T> remainingItems = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (metadata.getId(items.get(i)).filter(stored::contains).isPresent()) {
+                result.addCreated(1);
+            } else {
+                remainingRows.add(rows.get(i));
+                remainingItems.add(items.get(i));
+            }
+        }
+        writeOneByOne(remainingRows, remainingItems, result, listener);
+    }
+
+    private void writeOneByOne(List<Long> rows, List<T> items, ImportResult result, ImportListener listener) {
+        for (int i = 0; i < items.size(); i++) {
+            try {
+                integrityEvaluator.evaluate(items.get(i), EvaluationType.CREATE);
+                crud.create(items.get(i));
+                result.addCreated(1);
+            } catch (RuntimeException e) {
+                addError(result, listener, new ImportError(rows.get(i), message(e)));
+            }
+        }
+    }
+
+    private void validate(T item) {
+        final Set<ConstraintViolation<T>> violations = validator.validate(item);
+
+        if (!violations.isEmpty()) {
+            throw new ElepyException(violations.stream()
+                    .map(cv -> cv.getPropertyPath().toString().replaceAll("\\.", " -> ") + ": " + cv.getMessage())
+                    .collect(Collectors.joining(",\n")));
+        }
+    }
+
+    private void logProgress(long rowsBefore, ImportResult result) {
+        if (rowsBefore / PROGRESS_INTERVAL != result.getRows() / PROGRESS_INTERVAL) {
+            logger.info("Importing into {}: {} rows done, {} failed", modelContext.getPath(), result.getRows(), result.getFailed());
+        }
+    }
+
+    private Batch<T> await(Future<Batch<T>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ElepyException("The import was interrupted", 500, e);
+        } catch (ExecutionException e) {
+            throw new ElepyException("Failed to evaluate a batch of the import", 500, e.getCause());
+        }
+    }
+
+    private static String message(Exception e) {
+        if (e instanceof JsonProcessingException) {
+            return ((JsonProcessingException) e).getOriginalMessage();
+        }
+        return e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+    }
+
+    private static class Batch<T> {
+        private final List<Long> rows = new ArrayList<>();
+        private final List<T> items = new ArrayList<>();
+        private final List<ImportError> errors = new ArrayList<>();
+    }
+
+    private static class ImportThreadFactory implements ThreadFactory {
+        private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            final Thread thread = new Thread(runnable, "elepy-import-" + THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.elepy.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Reads newline delimited JSON, one JSON object per line. Blank lines are skipped.
+ */
+class NdjsonImportSource implements ImportSource {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long lineNumber = 0;
+
+    NdjsonImportSource(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            lineNumber++;
+        } while (line != null && line.isBlank());
+
+        if (line == null) {
+            return null;
+        }
+        final String json = line;
+        return new ImportRow(lineNumber, () -> objectMapper.readTree(json));
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
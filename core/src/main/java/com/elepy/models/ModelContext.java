@@ -33,6 +33,7 @@ public class ModelContext<T> {
 
     public void changeModel(ModelChange modelChange) {
         modelChange.change(this);
+        schema.refreshFilterPlan();
     }
 
     public Schema<T> getSchema() {
@@ -0,0 +1,229 @@
+package com.elepy.models;
+
+import com.elepy.annotations.Identifier;
+import com.elepy.annotations.Searchable;
+import com.elepy.annotations.Unique;
+import com.elepy.exceptions.ElepyException;
+import com.elepy.utils.Annotations;
+import com.elepy.utils.ReflectionUtils;
+
+import javax.persistence.Column;
+import javax.persistence.Id;
+import javax.persistence.Version;
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * The reflective information Elepy needs about a model class, looked up once per class.
+ * <p>
+ * Finding the id or the unique fields of a class means walking the fields of the class and its superclasses,
+ * which used to happen several times for every created item. The fields are read and written through
+ * MethodHandles instead of {@link Field#get(Object)} and {@link Field#set(Object, Object)}.
+ * <p>
+ * Use {@link #of(Class)} to get the metadata of a class, it's computed on first use and thread safe.
+ */
+public class ModelMetadata {
+
+    private static final ClassValue<ModelMetadata> REGISTRY = new ClassValue<>() {
+        @Override
+        protected ModelMetadata computeValue(Class<?> type) {
+            return new ModelMetadata(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final Map<String, Field> fieldsByPropertyName = new HashMap<>();
+    private final Map<Field, Accessor> accessors = new HashMap<>();
+    private final Field idField;
+    private final Accessor idAccessor;
+    private final List<Field> uniqueFields;
+    private final List<Field> searchableFields;
+    private final Field versionField;
+
+    private ModelMetadata(Class<?> type) {
+        this.type = type;
+
+        // Subclass fields first, like ReflectionUtils searches them, so that they hide the fields of superclasses
+        final List<Field> fields = new ArrayList<>();
+        for (Class<?> cls = type; cls != null; cls = cls.getSuperclass()) {
+            for (Field field : cls.getDeclaredFields()) {
+                if (field.trySetAccessible()) {
+                    fields.add(field);
+                    accessors.put(field, new Accessor(field));
+                    fieldsByPropertyName.putIfAbsent(ReflectionUtils.getPropertyName(field), field);
+                }
+            }
+        }
+
+        this.idField = fields.stream()
+                .filter(field -> field.isAnnotationPresent(Identifier.class) || field.isAnnotationPresent(Id.class))
+                .findFirst()
+                .orElse(fieldsByPropertyName.get("id"));
+        this.idAccessor = idField == null ? null : accessors.get(idField);
+
+        final List<Field> uniqueFields = fields.stream()
+                .filter(field -> field.isAnnotationPresent(Unique.class))
+                .collect(Collectors.toList());
+        fields.stream()
+                .filter(field -> field.isAnnotationPresent(Column.class) && Annotations.get(field, Column.class).unique())
+                .forEach(uniqueFields::add);
+        if (idField != null) {
+            uniqueFields.add(idField);
+        }
+        this.uniqueFields = List.copyOf(uniqueFields);
+
+        this.searchableFields = fields.stream()
+                .filter(field -> field.isAnnotationPresent(Searchable.class))
+                .collect(Collectors.toUnmodifiableList());
+
+        this.versionField = fields.stream()
+                .filter(field -> field.isAnnotationPresent(Version.class))
+                .findFirst()
+                .orElse(null);
+    }
+
+    public static ModelMetadata of(Class<?> type) {
+        return REGISTRY.get(type);
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public Optional<Field> getIdField() {
+        return Optional.ofNullable(idField);
+    }
+
+    /**
+     * @return The id of the record, or empty if the id isn't set
+     * @throws ElepyException when the class has no id field
+     */
+    public Optional<Serializable> getId(Object record) {
+        return Optional.ofNullable((Serializable) idAccessor().get(record));
+    }
+
+    /**
+     * @throws ElepyException when the class has no id field
+     */
+    public void setId(Object record, Serializable id) {
+        idAccessor().set(record, id);
+    }
+
+    /**
+     * @return The fields annotated with {@link Unique} or with a unique {@link Column}, followed by the id field
+     */
+    public List<Field> getUniqueFields() {
+        return uniqueFields;
+    }
+
+    public List<Field> getSearchableFields() {
+        return searchableFields;
+    }
+
+    /**
+     * @return The field annotated with {@link Version}. Only backends that {@link com.elepy.dao.Crud#incrementsVersions()}
+     * change it whenever the record changes
+     */
+    public Optional<Field> getVersionField() {
+        return Optional.ofNullable(versionField);
+    }
+
+    /**
+     * @return The field with the property name, which is the value of its JsonProperty annotation or its Java name
+     */
+    public Optional<Field> getField(String propertyName) {
+        return Optional.ofNullable(fieldsByPropertyName.get(propertyName));
+    }
+
+    /**
+     * @throws ElepyException when the field isn't a field of this class
+     */
+    public Accessor accessor(Field field) {
+        final Accessor accessor = accessors.get(field);
+
+        if (accessor == null) {
+            throw new ElepyException(String.format("%s is not a field of %s", field.getName(), type.getName()), 500);
+        }
+        return accessor;
+    }
+
+    private Accessor idAccessor() {
+        if (idAccessor == null) {
+            throw new ElepyException("No ID field found");
+        }
+        return idAccessor;
+    }
+
+    /**
+     * Reads and writes a field through MethodHandles.
+     */
+    public static class Accessor {
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+        private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+        private final Field field;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private Accessor(Field field) {
+            this.field = field;
+            this.getter = handle(field, false);
+            this.setter = handle(field, true);
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        public Object get(Object record) {
+            if (getter == null) {
+                throw new ElepyException("Can't read the field: " + field.getName(), 500);
+            }
+            try {
+                return (Object) getter.invokeExact(record);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new ElepyException("Failed to read the field: " + field.getName(), 500, e);
+            }
+        }
+
+        public void set(Object record, Object value) {
+            if (setter == null) {
+                throw new ElepyException("Can't write the field: " + field.getName(), 500);
+            }
+            try {
+                setter.invokeExact(record, value);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new ElepyException("Failed to write the field: " + field.getName(), 500, e);
+            }
+        }
+
+        // Null when the field can't be accessed this way, such as a static final field
+        private static MethodHandle handle(Field field, boolean setter) {
+            try {
+                final MethodHandles.Lookup lookup = MethodHandles.lookup();
+                MethodHandle handle = setter ? lookup.unreflectSetter(field) : lookup.unreflectGetter(field);
+
+                if (Modifier.isStatic(field.getModifiers())) {
+                    handle = MethodHandles.dropArguments(handle, 0, Object.class);
+                }
+                return handle.asType(setter ? SETTER_TYPE : GETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+        }
+    }
+}
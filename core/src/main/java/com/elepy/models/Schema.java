@@ -1,8 +1,10 @@
 package com.elepy.models;
 
+import com.elepy.dao.FilterPlan;
 import com.elepy.dao.SortOption;
 import com.elepy.exceptions.ElepyConfigException;
 import com.elepy.http.HttpAction;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonUnwrapped;
 
 import java.util.HashMap;
@@ -27,6 +29,8 @@ public class Schema<T> {
 
     private Map<String, HttpAction> defaultActions = new HashMap<>();
 
+    private volatile FilterPlan filterPlan;
+
 
     public Map<String, HttpAction> getDefaultActions() {
         return defaultActions;
@@ -82,6 +86,7 @@ public class Schema<T> {
 
     public void setJavaClass(Class<T> javaClass) {
         this.javaClass = javaClass;
+        this.filterPlan = null;
     }
 
     public String getIdProperty() {
@@ -90,6 +95,7 @@ public class Schema<T> {
 
     public void setIdProperty(String idProperty) {
         this.idProperty = idProperty;
+        this.filterPlan = null;
     }
 
     public List<HttpAction> getActions() {
@@ -106,6 +112,7 @@ public class Schema<T> {
 
     public void setProperties(List<Property> properties) {
         this.properties = properties;
+        this.filterPlan = null;
     }
 
 
@@ -116,6 +123,24 @@ public class Schema<T> {
                 .findFirst().orElseThrow(() -> new ElepyConfigException("No property with the name: " + name));
     }
 
+    /**
+     * @return The plan to translate filters on this schema with, built on first use if the model isn't ignited yet
+     */
+    @JsonIgnore
+    public FilterPlan getFilterPlan() {
+        if (filterPlan == null) {
+            filterPlan = new FilterPlan(this);
+        }
+        return filterPlan;
+    }
+
+    /**
+     * Builds the filter plan again, after the properties of this schema have changed.
+     */
+    public void refreshFilterPlan() {
+        this.filterPlan = new FilterPlan(this);
+    }
+
     public boolean isViewableOnCMS() {
         return viewableOnCMS;
     }
@@ -0,0 +1,92 @@
+package com.elepy.utils;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.Date;
+
+/**
+ * Compares property values of records with each other and with filter values.
+ * Numbers of every type are compared as BigDecimals and enums by their names,
+ * so that a stored value and the same value parsed from a filter are equal.
+ */
+public class ComparisonUtils {
+
+    private static final Comparator<Comparable<Object>> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private ComparisonUtils() {
+
+    }
+
+    /**
+     * @return The comparable form of the value, or null if the value is null or can't be ordered.
+     */
+    @SuppressWarnings("unchecked")
+    public static Comparable<Object> comparable(Object value) {
+        if (value instanceof BigDecimal) {
+            return (Comparable<Object>) value;
+        }
+        if (value instanceof Number) {
+            try {
+                return (Comparable) new BigDecimal(value.toString());
+            } catch (NumberFormatException e) {
+                // NaN and infinity
+                return null;
+            }
+        }
+        if (value instanceof Enum) {
+            return (Comparable) ((Enum<?>) value).name();
+        }
+        if (value instanceof Comparable) {
+            return (Comparable<Object>) value;
+        }
+        return null;
+    }
+
+    /**
+     * Values that can't be compared with each other, such as a date and a string, are never equal.
+     *
+     * @return The comparison, or null if the values are incomparable
+     */
+    public static Integer compare(Object a, Object b) {
+        final Comparable<Object> left = comparable(a);
+        final Comparable<Object> right = comparable(b);
+
+        if (left == null || right == null) {
+            return null;
+        }
+        try {
+            return left.compareTo(right);
+        } catch (ClassCastException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A total order for sorting: empty values come first. Values of types that can't be compared with each other,
+     * such as a date and a string, are ordered by the name of their type.
+     */
+    public static int compareForSort(Object a, Object b) {
+        final Comparable<Object> left = comparable(a);
+        final Comparable<Object> right = comparable(b);
+
+        if (left == null || right == null) {
+            return NULLS_FIRST.compare(left, right);
+        }
+        final int byType = sortType(left).getName().compareTo(sortType(right).getName());
+        if (byType != 0) {
+            return byType;
+        }
+        try {
+            return left.compareTo(right);
+        } catch (ClassCastException e) {
+            return left.toString().compareTo(right.toString());
+        }
+    }
+
+    /**
+     * Dates of all kinds are compared with each other by their time.
+     */
+    private static Class<?> sortType(Object value) {
+        return value instanceof Date ? Date.class : value.getClass();
+    }
+}
@@ -44,6 +44,15 @@ public class DefaultActions {
                 permissions, HttpMethod.POST, true, true, "", "", null);
     }
 
+    public static HttpAction getImportFromSchema(Schema<?> schema) {
+
+        final var permissions = Optional.ofNullable(Annotations.get(schema.getJavaClass(), Create.class))
+                .map(Create::requiredPermissions)
+                .orElse(Permissions.DEFAULT);
+        return new HttpAction("Import", schema.getPath() + "/import",
+                permissions, HttpMethod.POST, false, false, "Imports records from NDJSON or CSV", "", null);
+    }
+
     public static HttpAction getFindFromSchema(Schema<?> schema) {
         return new HttpAction("Find Many", schema.getPath(),
                 getFindPermissions(schema), HttpMethod.GET, true,
@@ -52,6 +61,11 @@ public class DefaultActions {
                 "", null);
     }
 
+    public static HttpAction getExportFromSchema(Schema<?> schema) {
+        return new HttpAction("Export", schema.getPath() + "/export",
+                getFindPermissions(schema), HttpMethod.GET, false, false, "Exports records as NDJSON or CSV", "", null);
+    }
+
     public static HttpAction getFindOneFromSchema(Schema<?> schema) {
         return new HttpAction(
                 "Find One",
@@ -7,6 +7,7 @@ import com.elepy.annotations.Uneditable;
 import com.elepy.exceptions.ElepyConfigException;
 import com.elepy.exceptions.ElepyException;
 import com.elepy.models.FieldType;
+import com.elepy.models.ModelMetadata;
 import com.elepy.models.NumberType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -14,6 +15,7 @@ import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.function.Function;
 
 public class MapperUtils {
     private MapperUtils() {
@@ -22,16 +24,30 @@ public class MapperUtils {
     public static <T> T objectFromMaps(ObjectMapper objectMapper, Map<String, Object> objectAsMap, Map<String, Object> fieldsToAdd, Class<T> cls) {
 
 
-        final Field idProperty = ReflectionUtils.getIdField(cls).orElseThrow(() -> new ElepyException("No id field", 500));
-        fieldsToAdd.forEach((fieldName, fieldObject) -> {
-            final Field field = ReflectionUtils.findFieldWithName(cls, fieldName).orElseThrow(() -> new ElepyException(String.format("Unknown field: %s", fieldName)));
+        objectAsMap.putAll(patchableChanges(fieldsToAdd, cls));
+        return objectMapper.convertValue(objectAsMap, cls);
+    }
+
+    /**
+     * Filters changes down to the ones that may be applied to an existing record:
+     * editable, primitive properties that aren't the id.
+     *
+     * @throws ElepyException when a change refers to an unknown field
+     */
+    public static Map<String, Object> patchableChanges(Map<String, Object> changes, Class<?> cls) {
+        final ModelMetadata metadata = ModelMetadata.of(cls);
+        final Field idProperty = metadata.getIdField().orElseThrow(() -> new ElepyException("No id field", 500));
+        final Map<String, Object> patchable = new LinkedHashMap<>();
+
+        changes.forEach((fieldName, fieldObject) -> {
+            final Field field = metadata.getField(fieldName).orElseThrow(() -> new ElepyException(String.format("Unknown field: %s", fieldName)));
             FieldType fieldType = FieldType.guessFieldType(field);
             if (fieldType.isPrimitive() && !idProperty.getName().equals(field.getName()) && shouldEdit(field)) {
-                objectAsMap.put(fieldName, fieldObject);
+                patchable.put(fieldName, fieldObject);
             }
 
         });
-        return objectMapper.convertValue(objectAsMap, cls);
+        return patchable;
     }
 
     /**
@@ -79,14 +95,31 @@ public class MapperUtils {
     }
 
     public static Serializable toValueFromString(Field field, FieldType fieldType, String value) {
+        return valueParser(field, fieldType).apply(value);
+    }
+
+    /**
+     * Looks up everything that's needed to convert Strings to the type of a field once, such as the
+     * date format or the enum values, so that the returned function can convert many values.
+     */
+    public static Function<String, Serializable> valueParser(Field field, FieldType fieldType) {
         if (fieldType.equals(FieldType.ENUM)) {
-            return toEnumFromString(field, value);
+            final Map<String, String> enumValues = new HashMap<>();
+            getEnumMapValues((Class<? extends Enum<?>>) field.getType())
+                    .forEach(enumMap -> enumValues.put(enumMap.get("enumValue").toString().toLowerCase(Locale.ROOT), enumMap.get("enumValue").toString()));
+
+            return value -> enumValues.getOrDefault(value.toLowerCase(Locale.ROOT), value);
         }
         if (fieldType.equals(FieldType.BOOLEAN)) {
-            return toBooleanFromString(field, value);
+            final TrueFalse annotation = Annotations.get(field, TrueFalse.class);
+
+            return value -> (annotation != null && value.equalsIgnoreCase(annotation.trueValue())) || Boolean.parseBoolean(value);
         }
         if (fieldType.equals(FieldType.NUMBER)) {
-            return toNumberFromString(field, value);
+            if (NumberType.guessType(field).equals(NumberType.INTEGER)) {
+                return Long::parseLong;
+            }
+            return Float::parseFloat;
         } else if (fieldType.equals(FieldType.DATE)) {
             final DateTime annotation = Annotations.get(field, DateTime.class);
             final String format;
@@ -96,10 +129,30 @@ public class MapperUtils {
             } else {
                 format = annotation.format();
             }
-            return toDateFromString(value, format);
+            return value -> toDateFromString(value, format);
         } else {
-            return value;
+            return value -> value;
+        }
+    }
+
+    /**
+     * @return The type of the values that {@link #valueParser(Field, FieldType)} produces for this field,
+     * or null if every value has to be parsed, like the case insensitive names of enums
+     */
+    public static Class<? extends Serializable> valueType(Field field, FieldType fieldType) {
+        if (fieldType.equals(FieldType.ENUM)) {
+            return null;
+        }
+        if (fieldType.equals(FieldType.BOOLEAN)) {
+            return Boolean.class;
+        }
+        if (fieldType.equals(FieldType.NUMBER)) {
+            return NumberType.guessType(field).equals(NumberType.INTEGER) ? Long.class : Float.class;
+        }
+        if (fieldType.equals(FieldType.DATE)) {
+            return Date.class;
         }
+        return String.class;
     }
 
     public static Serializable toEnumFromString(Field field, String value) {
@@ -1,17 +1,16 @@
 package com.elepy.utils;
 
 import com.elepy.annotations.ElepyConstructor;
-import com.elepy.annotations.Identifier;
 import com.elepy.annotations.Label;
 import com.elepy.annotations.Unique;
 import com.elepy.exceptions.ElepyConfigException;
 import com.elepy.exceptions.ElepyException;
 import com.elepy.http.*;
+import com.elepy.models.ModelMetadata;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.googlecode.gentyref.GenericTypeReflector;
 
 import javax.persistence.Column;
-import javax.persistence.Id;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
@@ -100,7 +99,7 @@ public class ReflectionUtils {
     }
 
     public static Field getPropertyField(Class<?> cls, String property) {
-        return findFieldThatMatches(cls, field -> getPropertyName(field).equals(property)).orElse(null);
+        return ModelMetadata.of(cls).getField(property).orElse(null);
     }
 
     public static String getLabel(AccessibleObject field) {
@@ -111,15 +110,7 @@ public class ReflectionUtils {
     }
 
     public static Optional<Serializable> getId(Object object) {
-
-        try {
-            Field field = getIdField(object.getClass()).orElseThrow(() -> new ElepyException("No ID field found"));
-            field.setAccessible(true);
-            return Optional.ofNullable((Serializable) field.get(object));
-        } catch (IllegalAccessException e) {
-            throw new ElepyException("Illegally accessing id field");
-        }
-
+        return ModelMetadata.of(object.getClass()).getId(object);
     }
 
     public static Serializable toObject(Class clazz, String value) {
@@ -144,13 +135,7 @@ public class ReflectionUtils {
     }
 
     public static Optional<Field> getIdField(Class cls) {
-        Optional<Field> annotated = searchForFieldWithAnnotation(cls, Identifier.class, Id.class);
-
-        if (annotated.isPresent()) {
-            return annotated;
-        } else {
-            return findFieldWithName(cls, "id");
-        }
+        return ModelMetadata.of(cls).getIdField();
     }
 
     public static Class<?> returnTypeOf(AnnotatedElement field) {
@@ -164,14 +149,7 @@ public class ReflectionUtils {
     }
 
     public static Optional<Field> findFieldWithName(Class cls, String name) {
-        return findFieldThatMatches(cls, field -> {
-            if (field.isAnnotationPresent(JsonProperty.class)) {
-                final JsonProperty annotation = com.elepy.utils.Annotations.get(field, JsonProperty.class);
-                return annotation.value().equals(name);
-            } else {
-                return field.getName().equals(name);
-            }
-        });
+        return ModelMetadata.of(cls).getField(name);
     }
 
     public static <T> Optional<Constructor<? extends T>> getEmptyConstructor(Class<T> cls) {
@@ -209,15 +187,7 @@ public class ReflectionUtils {
     }
 
     public static List<Field> getUniqueFields(Class cls) {
-        List<Field> uniqueFields = searchForFieldsWithAnnotation(cls, Unique.class);
-        uniqueFields.addAll(searchForFieldsWithAnnotation(cls, Column.class).stream().filter(field -> {
-            final Column column = com.elepy.utils.Annotations.get(field, Column.class);
-            return column.unique();
-        }).collect(Collectors.toList()));
-
-        getIdField(cls).ifPresent(uniqueFields::add);
-
-        return uniqueFields;
+        return new ArrayList<>(ModelMetadata.of(cls).getUniqueFields());
     }
 
 
@@ -0,0 +1,41 @@
+package com.elepy.dao;
+
+import com.elepy.Base;
+import com.elepy.Resource;
+import com.elepy.models.Schema;
+import com.elepy.utils.ModelUtils;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CursorTest extends Base {
+
+    private final Schema<Resource> schema = ModelUtils.createDeepSchema(Resource.class);
+
+    @Test
+    void sortKeys_keepTheirTypes() {
+        final Date date = new Date(1_234_567_890_123L);
+        final BigDecimal decimal = new BigDecimal("20.123456789123456789");
+        final Resource resource = validObject();
+        resource.setDate(date);
+        resource.setNumberMin20(decimal);
+
+        final Query query = new Query(Filters.search(""))
+                .sort("date", SortOption.ASCENDING)
+                .sort("numberMin20", SortOption.DESCENDING)
+                .sort("id", SortOption.ASCENDING);
+
+        final String encoded = Cursor.after(resource, query).orElseThrow().encode();
+        final BooleanGroup ranges = (BooleanGroup) Cursor.decode(encoded, schema.getFilterPlan()).toExpression();
+
+        // (date > x) OR (date = x AND numberMin20 < y) OR (date = x AND numberMin20 = y AND id > z)
+        assertThat(((BooleanGroup) ranges.getExpressions().get(2)).getExpressions())
+                .extracting(expression -> ((Filter) expression).getFilterValue())
+                .containsExactly(date, decimal, (long) resource.getId());
+        assertThat(schema.getFilterPlan().get("numberMin20").value(decimal)).isSameAs(decimal);
+        assertThat(schema.getFilterPlan().get("id").value(resource.getId())).isEqualTo((long) resource.getId());
+    }
+}
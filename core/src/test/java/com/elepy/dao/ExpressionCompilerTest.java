@@ -0,0 +1,92 @@
+package com.elepy.dao;
+
+import com.elepy.Resource;
+import com.elepy.models.TextType;
+import com.elepy.utils.ModelUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.elepy.dao.Filters.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpressionCompilerTest {
+
+    private ExpressionCompiler<Resource> compiler;
+    private List<Resource> resources;
+
+    @BeforeEach
+    void setUp() {
+        compiler = new ExpressionCompiler<>(ModelUtils.createDeepSchema(Resource.class));
+        resources = IntStream.range(0, 10).mapToObj(ExpressionCompilerTest::resource).collect(Collectors.toList());
+    }
+
+    @Test
+    void canFilter_onNumbers_regardlessOfTheirType() {
+        assertThat(ids(gte("numberMin20", 7))).containsExactly(7, 8, 9);
+        assertThat(ids(eq("numberMin20", "3.0"))).containsExactly(3);
+        assertThat(ids(lt("id", 2))).containsExactly(0, 1);
+    }
+
+    @Test
+    void canSearch_caseInsensitively() {
+        assertThat(ids(search("VALUE 5"))).containsExactly(5);
+        assertThat(ids(contains("textField", "TEXT 1"))).containsExactly(1);
+        assertThat(ids(search(""))).hasSize(10);
+    }
+
+    @Test
+    void canFilter_onEnums() {
+        assertThat(ids(eq("textType", "markdown"))).containsExactly(0, 2, 4, 6, 8);
+    }
+
+    @Test
+    void canFilter_onGeneratedProperties() {
+        assertThat(ids(eq("generated", "I am generated"))).hasSize(10);
+    }
+
+    @Test
+    void emptyValues_neverMatchRanges() {
+        resources.get(0).setNumberMin20(null);
+
+        assertThat(ids(lte("numberMin20", 1))).containsExactly(1);
+        assertThat(ids(ne("numberMin20", 1))).contains(0).doesNotContain(1);
+    }
+
+    @Test
+    void canCombine_withAndOr() {
+        final Expression expression = or(
+                and(gt("id", 2), lt("id", 5)),
+                eq("unique", "unique 9")
+        );
+
+        assertThat(ids(expression)).containsExactly(3, 4, 9);
+    }
+
+    @Test
+    void parallelFilter_findsTheSameRecords() {
+        final Expression expression = or(gt("id", 6), search("value 1"));
+
+        assertThat(compiler.filterParallel(resources, expression).map(Resource::getId))
+                .containsExactlyInAnyOrderElementsOf(ids(expression));
+    }
+
+    private List<Integer> ids(Expression expression) {
+        return compiler.filter(resources, expression).map(Resource::getId).collect(Collectors.toList());
+    }
+
+    private static Resource resource(int i) {
+        final Resource resource = new Resource();
+        resource.setId(i);
+        resource.setNumberMin20(BigDecimal.valueOf(i));
+        resource.setSearchableField("Searchable value " + i);
+        resource.setTextField("Text " + i);
+        resource.setUnique("unique " + i);
+        resource.setTextType(i % 2 == 0 ? TextType.MARKDOWN : TextType.HTML);
+        return resource;
+    }
+}
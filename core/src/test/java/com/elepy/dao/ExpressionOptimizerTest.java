@@ -0,0 +1,106 @@
+package com.elepy.dao;
+
+import com.elepy.Resource;
+import com.elepy.utils.ModelUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.elepy.dao.Filters.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpressionOptimizerTest {
+
+    private final FilterPlan filterPlan = ModelUtils.createDeepSchema(Resource.class).getFilterPlan();
+
+    @Test
+    void emptySearches_areDropped() {
+        final Expression optimized = optimize(and(eq("textField", "ryan"), search("")));
+
+        assertThat(optimized).isInstanceOf(Filter.class);
+        assertThat(((Filter) optimized).getPropertyName()).isEqualTo("textField");
+    }
+
+    @Test
+    void emptySearches_decideOrGroups() {
+        assertThat(optimize(or(eq("textField", "ryan"), search(""))).canBeIgnored()).isTrue();
+        assertThat(optimize(and(search(""), or(search("")))).canBeIgnored()).isTrue();
+    }
+
+    @Test
+    void nestedGroups_areFlattened() {
+        final Expression optimized = optimize(and(eq("textField", 1), and(eq("textArea", 2), and(eq("unique", 3))), or(search("x"))));
+
+        assertThat(optimized).isInstanceOf(BooleanGroup.class);
+        assertThat(((BooleanGroup) optimized).getExpressions())
+                .hasSize(4)
+                .allMatch(expression -> !(expression instanceof BooleanGroup));
+    }
+
+    @Test
+    void duplicates_areRemoved() {
+        final Expression optimized = optimize(and(search("x"), search("x"), and(search("x"))));
+
+        assertThat(optimized).isInstanceOf(SearchQuery.class);
+    }
+
+    @Test
+    void numericRanges_areMerged() {
+        final BooleanGroup optimized = (BooleanGroup) optimize(and(
+                gt("numberMin20", 5), gte("numberMin20", 10), lt("numberMin20", 100), filter("numberMin20", FilterType.LESSER_THAN_OR_EQUALS, "50"), eq("textField", "x")
+        ));
+
+        assertThat(optimized.getExpressions()).hasSize(3);
+        assertThat(filterAt(optimized, 0)).satisfies(filter -> {
+            assertThat(filter.getFilterType()).isEqualTo(FilterType.GREATER_THAN_OR_EQUALS);
+            assertThat(filter.getFilterValue()).isEqualTo(10);
+        });
+        assertThat(filterAt(optimized, 1)).satisfies(filter -> {
+            assertThat(filter.getFilterType()).isEqualTo(FilterType.LESSER_THAN_OR_EQUALS);
+            assertThat(filter.getFilterValue()).isEqualTo("50");
+        });
+    }
+
+    @Test
+    void rangesOnOtherThanNumbers_areKept() {
+        // "9" sorts after "10" as a String, so merging the bounds as numbers would change the results
+        final BooleanGroup optimized = (BooleanGroup) optimize(and(filter("textField", FilterType.GREATER_THAN, "9"), filter("textField", FilterType.GREATER_THAN, "10"), lt("unknown", 5), lt("unknown", 3)));
+
+        assertThat(optimized.getExpressions()).hasSize(4);
+    }
+
+    @Test
+    void exclusiveBounds_winFromInclusiveBounds() {
+        final Filter optimized = (Filter) optimize(and(gte("numberMin20", 10), gt("numberMin20", 10)));
+
+        assertThat(optimized.getFilterType()).isEqualTo(FilterType.GREATER_THAN);
+    }
+
+    @Test
+    void equalitiesOnTheSameProperty_becomeIn() {
+        final BooleanGroup optimized = (BooleanGroup) optimize(or(eq("id", 1), eq("id", 2), eq("textField", "x"), or(eq("id", 3), eq("id", 1))));
+
+        assertThat(optimized.getExpressions()).hasSize(2);
+        assertThat(filterAt(optimized, 0)).satisfies(filter -> {
+            assertThat(filter.getFilterType()).isEqualTo(FilterType.IN);
+            assertThat(filter.getFilterValues()).isEqualTo(List.of(1, 2, 3));
+        });
+    }
+
+    @Test
+    void optimizing_doesNotChangeTheExpression() {
+        final BooleanGroup expression = or(eq("id", 1), eq("id", 2));
+
+        optimize(expression);
+
+        assertThat(expression.getExpressions()).hasSize(2);
+    }
+
+    private Expression optimize(Expression expression) {
+        return ExpressionOptimizer.optimize(expression, filterPlan);
+    }
+
+    private static Filter filterAt(BooleanGroup group, int index) {
+        return (Filter) group.getExpressions().get(index);
+    }
+}
@@ -0,0 +1,77 @@
+package com.elepy.dao;
+
+import com.elepy.Resource;
+import com.elepy.exceptions.ElepyConfigException;
+import com.elepy.models.FieldType;
+import com.elepy.models.Property;
+import com.elepy.models.Schema;
+import com.elepy.utils.ModelUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FilterPlanTest {
+
+    private Schema<Resource> schema;
+
+    @BeforeEach
+    void setUp() {
+        schema = ModelUtils.createDeepSchema(Resource.class);
+    }
+
+    @Test
+    void resolvesTheFields_ofAllProperties() {
+        final FilterPlan plan = schema.getFilterPlan();
+
+        assertThat(plan.getFields()).hasSameSizeAs(schema.getProperties());
+        assertThat(plan.get("id").isId()).isTrue();
+        assertThat(plan.get("unique").getJavaName()).isEqualTo("unique");
+        assertThat(plan.get("numberMin20").getFieldType()).isEqualTo(FieldType.NUMBER);
+        assertThat(plan.getSearchableFields()).extracting(FilterableField::getName).contains("searchableField");
+    }
+
+    @Test
+    void parsesValues_toTheTypeOfTheProperty() {
+        final FilterPlan plan = schema.getFilterPlan();
+
+        assertThat(plan.get("id").value("5")).isEqualTo(5L);
+        assertThat(plan.get("numberMin20").value("2.5")).isEqualTo(2.5f);
+        assertThat(plan.get("textType").value("markdown")).isEqualTo("MARKDOWN");
+        assertThat(plan.get("textField").value(10)).isEqualTo("10");
+        assertThat(plan.get("generated").value("x")).isEqualTo("x");
+        assertThat(plan.get("id").values(Filters.in("id", List.of(1, "2")))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void knowsTheFilterTypes_ofProperties() {
+        final FilterPlan plan = schema.getFilterPlan();
+
+        assertThat(plan.get("numberMin20").canBeFilteredWith(FilterType.GREATER_THAN)).isTrue();
+        assertThat(plan.get("textType").canBeFilteredWith(FilterType.GREATER_THAN)).isFalse();
+        assertThat(plan.get("numberMin20").canBeFilteredWith(FilterType.IN)).isFalse();
+    }
+
+    @Test
+    void unknownProperties_areRejected() {
+        assertThatThrownBy(() -> schema.getFilterPlan().get("doesNotExist"))
+                .isInstanceOf(ElepyConfigException.class);
+    }
+
+    @Test
+    void isBuiltAgain_whenThePropertiesChange() {
+        final FilterPlan plan = schema.getFilterPlan();
+        assertThat(schema.getFilterPlan()).isSameAs(plan);
+
+        final List<Property> properties = new ArrayList<>(schema.getProperties());
+        properties.removeIf(property -> property.getName().equals("textField"));
+        schema.setProperties(properties);
+
+        assertThat(schema.getFilterPlan()).isNotSameAs(plan);
+        assertThat(schema.getFilterPlan().find("textField")).isEmpty();
+    }
+}
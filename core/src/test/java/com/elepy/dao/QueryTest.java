@@ -147,6 +147,24 @@ public class QueryTest {
         );
     }
 
+    @Test
+    void cachedParses_canBeChangedIndependently() {
+        final String input = "cached = 1 and (cached = 2 or cached = 3)";
+        final long hitsBefore = Queries.getParseCacheStats().hitCount();
+
+        final Query first = parse(input);
+        ((BooleanGroup) first.getExpression()).getExpressions().clear();
+
+        final Query second = parse(input);
+
+        assertThat(Queries.getParseCacheStats().hitCount()).isEqualTo(hitsBefore + 1);
+        assertThat(second.getExpression())
+                .asInstanceOf(type(BooleanGroup.class))
+                .extracting(BooleanGroup::getExpressions)
+                .asList()
+                .hasSize(2);
+    }
+
     private ObjectAssert<Filter> assertFilterMatches(Expression expression, String propName, FilterType type, Serializable value) {
         return assertThat(expression)
                 .asInstanceOf(type(Filter.class))
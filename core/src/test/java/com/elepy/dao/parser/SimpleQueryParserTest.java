@@ -0,0 +1,185 @@
+package com.elepy.dao.parser;
+
+import com.elepy.dao.BooleanGroup;
+import com.elepy.dao.Expression;
+import com.elepy.dao.Filter;
+import com.elepy.dao.SearchQuery;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.tree.ParseTreeWalker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Differential tests: whatever the simple parser accepts must be parsed exactly like the ANTLR parser does.
+ */
+class SimpleQueryParserTest {
+
+    private static final List<String> WORDS = List.of("name", "price", "Status", "active", "foo", "x1", "10abc", "ryan", "android", "order", "in5");
+    private static final List<String> NUMBERS = List.of("10", "3.5", ".5", "007", "0");
+    private static final List<String> OPERATORS = List.of("=", "!=", "<>", ">", ">=", "<", "<=");
+    private static final List<String> BOOLEAN_OPERATORS = List.of("and", "or", "AND", "Or");
+    private static final List<String> STRINGS = List.of("'hello world'", "'a'", "'x = 1 and y'");
+    private static final List<String> OTHER = List.of(
+            "(", ")", "eq", "gt", "in", "limit 5", "sw", "not equal", "notequal", "page size", "contains",
+            "!", "&&", "||", "\"quoted\"", "é", "''", "a.b", "1.", "=>", "'", ","
+    );
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "name = foo",
+            "price > 10 and status = active",
+            "hi my name is ryan",
+            "(price >= 3.5 or price < 1) and name != 'hello world'",
+            "a = b and c or d",
+            "ryan or ryan"
+    })
+    void parsesCommonInputs_likeAntlr(String input) {
+        final Optional<Expression> simple = SimpleQueryParser.parse(input);
+
+        assertThat(simple).isPresent();
+        assertThat(describe(simple.get())).isEqualTo(describe(antlr(input)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "name eq foo",
+            "price gt 10",
+            "name = foo limit 10",
+            "\"quoted search\"",
+            "some !arbitrary text",
+            "address.city = Amsterdam"
+    })
+    void leavesOtherInputs_toAntlr(String input) {
+        assertThat(SimpleQueryParser.parse(input)).isEmpty();
+    }
+
+    @Test
+    void generatedValidInputs_areParsedLikeAntlr() {
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 2_000; i++) {
+            final String input = validExpression(random, 3);
+            final Optional<Expression> simple = SimpleQueryParser.parse(input);
+
+            assertThat(simple).as(input).isPresent();
+            assertThat(describe(simple.get())).as(input).isEqualTo(describe(antlr(input)));
+        }
+    }
+
+    @Test
+    void generatedRandomInputs_areParsedLikeAntlr_orLeftToAntlr() {
+        final Random random = new Random(7);
+        int handled = 0;
+
+        for (int i = 0; i < 5_000; i++) {
+            final String input = randomInput(random);
+            final Optional<Expression> simple = SimpleQueryParser.parse(input);
+
+            if (simple.isPresent()) {
+                handled++;
+                assertThat(describe(simple.get())).as(input).isEqualTo(describe(antlr(input)));
+            }
+        }
+
+        // Make sure the comparison wasn't vacuous
+        assertThat(handled).isGreaterThan(500);
+    }
+
+    private static String validExpression(Random random, int depth) {
+        final int choice = random.nextInt(depth > 0 ? 5 : 2);
+
+        switch (choice) {
+            case 0:
+                return pick(random, WORDS) + space(random) + pick(random, List.of("=", "!=", "<>")) + space(random) + terms(random);
+            case 1:
+                return random.nextBoolean() ?
+                        pick(random, WORDS) + space(random) + pick(random, List.of(">", ">=", "<", "<=")) + space(random) + pick(random, NUMBERS) :
+                        terms(random);
+            case 2:
+                return "(" + space(random) + validExpression(random, depth - 1) + space(random) + ")";
+            default:
+                return validExpression(random, depth - 1) + " " + pick(random, BOOLEAN_OPERATORS) + " " + validExpression(random, depth - 1);
+        }
+    }
+
+    private static String terms(Random random) {
+        final int amount = 1 + random.nextInt(3);
+        final StringBuilder terms = new StringBuilder();
+
+        for (int i = 0; i < amount; i++) {
+            final int kind = random.nextInt(4);
+            terms.append(i == 0 ? "" : " ")
+                    .append(kind == 0 ? pick(random, NUMBERS) : kind == 1 ? pick(random, STRINGS) : pick(random, WORDS));
+        }
+        return terms.toString();
+    }
+
+    private static String randomInput(Random random) {
+        final int length = 1 + random.nextInt(8);
+        final StringBuilder input = new StringBuilder();
+
+        for (int i = 0; i < length; i++) {
+            final int kind = random.nextInt(10);
+            final String token;
+            if (kind < 3) {
+                token = pick(random, WORDS);
+            } else if (kind < 4) {
+                token = pick(random, NUMBERS);
+            } else if (kind < 6) {
+                token = pick(random, OPERATORS);
+            } else if (kind < 7) {
+                token = pick(random, BOOLEAN_OPERATORS);
+            } else if (kind < 8) {
+                token = pick(random, STRINGS);
+            } else {
+                token = pick(random, OTHER);
+            }
+            input.append(token).append(random.nextInt(4) == 0 ? "" : " ");
+        }
+        return input.toString();
+    }
+
+    private static String space(Random random) {
+        return random.nextBoolean() ? " " : "";
+    }
+
+    private static String pick(Random random, List<String> options) {
+        return options.get(random.nextInt(options.size()));
+    }
+
+    private static Expression antlr(String input) {
+        final EleQueryLexer lexer = new EleQueryLexer(CharStreams.fromString(input));
+        lexer.removeErrorListeners();
+
+        final EleQueryParser parser = new EleQueryParser(new CommonTokenStream(lexer));
+        parser.removeErrorListeners();
+
+        final QueryListener listener = new QueryListener();
+        new ParseTreeWalker().walk(listener, parser.query());
+
+        return listener.getQuery().getExpression();
+    }
+
+    private static String describe(Expression expression) {
+        if (expression instanceof Filter) {
+            final Filter filter = (Filter) expression;
+            return String.format("filter(%s %s '%s')", filter.getPropertyName(), filter.getFilterType(), filter.getFilterValue());
+        }
+        if (expression instanceof SearchQuery) {
+            return String.format("search('%s')", ((SearchQuery) expression).getTerm());
+        }
+        final BooleanGroup group = (BooleanGroup) expression;
+        return group.getOperator() + group.getExpressions().stream()
+                .map(SimpleQueryParserTest::describe)
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+}
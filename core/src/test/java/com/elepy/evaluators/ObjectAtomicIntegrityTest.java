@@ -7,28 +7,50 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 
-import static org.assertj.core.api.Assertions.assertThat;
-import static org.assertj.core.api.Assertions.fail;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 
 public class ObjectAtomicIntegrityTest extends Base {
     @Test
-    public void testAtomicIntegrity() throws IllegalAccessException {
+    public void testAtomicIntegrity() {
         final Resource resource = validObject();
         final Resource resource1 = validObject();
 
         resource.setId(91);
         resource1.setId(91);
+        resource1.setUnique("unique1");
         final AtomicIntegrityEvaluator<Resource> resourceAtomicIntegrityEvaluator = new AtomicIntegrityEvaluator<>();
 
-        try {
-            resourceAtomicIntegrityEvaluator.evaluate(Arrays.asList(resource, resource1));
+        assertThatThrownBy(() -> resourceAtomicIntegrityEvaluator.evaluate(Arrays.asList(resource, resource1)))
+                .isInstanceOf(ElepyException.class)
+                .hasMessageContaining("duplicates")
+                .hasMessageContaining("'91'");
+    }
+
+    @Test
+    public void reportsAllDuplicates_atOnce() {
+        final Resource resource = validObject();
+        final Resource resource1 = validObject();
+        final Resource resource2 = validObject();
+
+        resource1.setId(resource.getId());
+
+        assertThatThrownBy(() -> new AtomicIntegrityEvaluator<Resource>().evaluate(Arrays.asList(resource, resource1, resource2)))
+                .isInstanceOf(ElepyException.class)
+                .hasMessageContaining("'unique'")
+                .hasMessageContaining(String.format("'%d'", resource.getId()));
+    }
+
+    @Test
+    public void missingUniqueValues_dontConflict() {
+        final Resource resource = validObject();
+        final Resource resource1 = validObject();
+
+        resource.setUnique(null);
+        resource1.setUnique(null);
 
-        } catch (ElepyException errorMessage) {
-            if (errorMessage.getMessage().contains("duplicate")) {
-            } else {
-                fail("No duplicates found in arraylist");
-            }
-        }
+        assertThatCode(() -> new AtomicIntegrityEvaluator<Resource>().evaluate(Arrays.asList(resource, resource1)))
+                .doesNotThrowAnyException();
     }
 }
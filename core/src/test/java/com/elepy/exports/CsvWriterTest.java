@@ -0,0 +1,47 @@
+package com.elepy.exports;
+
+import com.elepy.imports.CsvReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvWriterTest {
+
+    @Test
+    void writesRecords_withCrlf() throws IOException {
+        final StringWriter output = new StringWriter();
+        final CsvWriter writer = new CsvWriter(output);
+
+        writer.writeRecord(List.of("a", "b"));
+        writer.writeRecord(Arrays.asList("1", null));
+
+        assertThat(output.toString()).isEqualTo("a,b\r\n1,\r\n");
+    }
+
+    @Test
+    void quotesFields_thatNeedIt() throws IOException {
+        final StringWriter output = new StringWriter();
+        final CsvWriter writer = new CsvWriter(output);
+
+        writer.writeRecord(List.of("a,b", "say \"hi\"", "two\nlines", "plain"));
+
+        assertThat(output.toString()).isEqualTo("\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\",plain\r\n");
+    }
+
+    @Test
+    void writtenRecords_canBeReadAgain() throws IOException {
+        final StringWriter output = new StringWriter();
+        final CsvWriter writer = new CsvWriter(output, ';');
+        final List<String> record = List.of("semi;colon", "\"", "", "{\"json\": [1, 2]}");
+
+        writer.writeRecord(record);
+
+        assertThat(new CsvReader(new StringReader(output.toString()), ';').readRecord()).isEqualTo(record);
+    }
+}
@@ -0,0 +1,35 @@
+package com.elepy.http;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ETagsTest {
+
+    @Test
+    void sameContent_hasTheSameETag() {
+        final byte[] content = "{\"id\": 1}".getBytes();
+
+        assertThat(ETags.ofContent(content, 0, content.length))
+                .startsWith("W/\"")
+                .isEqualTo(ETags.ofContent(content, 0, content.length))
+                .isNotEqualTo(ETags.ofContent(content, 0, content.length - 1));
+    }
+
+    @Test
+    void versions_haveDifferentETags() {
+        assertThat(ETags.ofVersion(1, 2)).isNotEqualTo(ETags.ofVersion(1, 3));
+    }
+
+    @Test
+    void matches_usesWeakComparison() {
+        final String etag = "W/\"abc\"";
+
+        assertThat(ETags.matches("W/\"abc\"", etag)).isTrue();
+        assertThat(ETags.matches("\"abc\"", etag)).isTrue();
+        assertThat(ETags.matches("\"xyz\", W/\"abc\"", etag)).isTrue();
+        assertThat(ETags.matches("*", etag)).isTrue();
+        assertThat(ETags.matches("\"xyz\"", etag)).isFalse();
+        assertThat(ETags.matches(null, etag)).isFalse();
+    }
+}
@@ -0,0 +1,151 @@
+package com.elepy.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResponseCompressionTest {
+
+    private final ResponseCompression compression = new ResponseCompression().minSize(100);
+
+    @Test
+    void negotiate_prefersTheHighestQuality() {
+        assertThat(ResponseCompression.negotiate("gzip, deflate, br")).contains(ContentEncoding.GZIP);
+        assertThat(ResponseCompression.negotiate("gzip;q=0.5, deflate")).contains(ContentEncoding.DEFLATE);
+        assertThat(ResponseCompression.negotiate("gzip;q=0, *;q=0.1")).contains(ContentEncoding.DEFLATE);
+        assertThat(ResponseCompression.negotiate("identity, br")).isEmpty();
+        assertThat(ResponseCompression.negotiate(null)).isEmpty();
+    }
+
+    @Test
+    void largeResponses_areGzipped() throws IOException {
+        final Response response = response("application/json; charset=utf-8");
+        final ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        final byte[] body = "{\"value\": \"compressible\"}".repeat(100).getBytes();
+
+        try (OutputStream outputStream = compression.compress("gzip", response, raw)) {
+            outputStream.write(body);
+        }
+
+        verify(response).header("Content-Encoding", "gzip");
+        verify(response).header("Vary", "Accept-Encoding");
+        assertThat(raw.size()).isLessThan(body.length);
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(raw.toByteArray())).readAllBytes()).isEqualTo(body);
+    }
+
+    @Test
+    void largeResponses_areDeflated() throws IOException {
+        final Response response = response("text/csv");
+        final ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        final byte[] body = "a,b,c\r\n".repeat(100).getBytes();
+
+        try (OutputStream outputStream = compression.compress("deflate", response, raw)) {
+            for (byte b : body) {
+                outputStream.write(b);
+            }
+        }
+
+        verify(response).header("Content-Encoding", "deflate");
+        assertThat(new InflaterInputStream(new ByteArrayInputStream(raw.toByteArray())).readAllBytes()).isEqualTo(body);
+    }
+
+    @Test
+    void smallResponses_areNotCompressed() throws IOException {
+        final Response response = response("application/json");
+        final ByteArrayOutputStream raw = new ByteArrayOutputStream();
+
+        try (OutputStream outputStream = compression.compress("gzip", response, raw)) {
+            outputStream.write("{}".getBytes());
+        }
+
+        verify(response, never()).header(eq("Content-Encoding"), anyString());
+        assertThat(raw.toString()).isEqualTo("{}");
+    }
+
+    @Test
+    void responsesWithOtherContentTypes_areNotCompressed() throws IOException {
+        final Response response = response("image/png");
+        final ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        final byte[] body = new byte[1000];
+
+        try (OutputStream outputStream = compression.compress("gzip", response, raw)) {
+            outputStream.write(body);
+        }
+
+        verify(response, never()).header(eq("Content-Encoding"), anyString());
+        assertThat(raw.toByteArray()).isEqualTo(body);
+    }
+
+    @Test
+    void responsesWithAContentEncoding_areNotCompressedAgain() throws IOException {
+        final Response response = response("text/javascript");
+        when(response.header("Content-Encoding")).thenReturn("gzip");
+        final ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        final byte[] body = gzip(new byte[1000]);
+
+        try (OutputStream outputStream = compression.compress("gzip", response, raw)) {
+            outputStream.write(body);
+        }
+
+        assertThat(raw.toByteArray()).isEqualTo(body);
+    }
+
+    @Test
+    void responsesLabelledWithGzip_areGzipped() throws IOException {
+        final Response response = response("image/svg+xml");
+        when(response.header("Content-Encoding")).thenReturn("gzip");
+        final ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        final byte[] body = "<svg/>".getBytes();
+
+        try (OutputStream outputStream = new ResponseCompression().enabled(false).compress("gzip", response, raw)) {
+            outputStream.write(body);
+        }
+
+        verify(response, never()).header(eq("Content-Encoding"), anyString());
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(raw.toByteArray())).readAllBytes()).isEqualTo(body);
+    }
+
+    @Test
+    void flushes_sendEverythingWrittenSoFar() throws IOException {
+        final Response response = response("application/x-ndjson");
+        final ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        final byte[] line = "{\"processed\": 1}\n".getBytes();
+
+        try (OutputStream outputStream = compression.compress("deflate", response, raw)) {
+            outputStream.write(line);
+            outputStream.flush();
+
+            verify(response).header("Content-Encoding", "deflate");
+            final InflaterInputStream inflated = new InflaterInputStream(new ByteArrayInputStream(raw.toByteArray()));
+            assertThat(inflated.readNBytes(line.length)).isEqualTo(line);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        final ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (OutputStream outputStream = new GZIPOutputStream(gzipped)) {
+            outputStream.write(body);
+        }
+        return gzipped.toByteArray();
+    }
+
+    private Response response(String type) {
+        final Response response = mock(Response.class);
+        when(response.type()).thenReturn(type);
+        return response;
+    }
+}
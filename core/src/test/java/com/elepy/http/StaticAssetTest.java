@@ -0,0 +1,82 @@
+package com.elepy.http;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StaticAssetTest {
+
+    private static final byte[] CSS = "body { color: red; }\n".repeat(100).getBytes();
+
+    private HttpContext context;
+    private Request request;
+    private Response response;
+
+    @BeforeEach
+    void setUp() {
+        context = mock(HttpContext.class);
+        request = mock(Request.class);
+        response = mock(Response.class);
+        when(context.request()).thenReturn(request);
+        when(context.response()).thenReturn(response);
+    }
+
+    @Test
+    void gzippedVariant_isSentToClientsThatAcceptGzip() throws IOException {
+        when(request.headers("Accept-Encoding")).thenReturn("gzip, deflate");
+
+        new StaticAsset(CSS, "text/css", "no-cache", true).serve(context);
+
+        final ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+        verify(response).header("Content-Encoding", "gzip");
+        verify(response).header("Cache-Control", "no-cache");
+        verify(response).result(body.capture());
+        assertThat(body.getValue().length).isLessThan(CSS.length);
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(body.getValue())).readAllBytes()).isEqualTo(CSS);
+    }
+
+    @Test
+    void content_isSentToClientsThatDontAcceptGzip() {
+        when(request.headers("Accept-Encoding")).thenReturn("gzip;q=0");
+
+        new StaticAsset(CSS, "text/css", null, true).serve(context);
+
+        verify(response, never()).header(eq("Content-Encoding"), anyString());
+        verify(response).header("Vary", "Accept-Encoding");
+        verify(response).result(CSS);
+    }
+
+    @Test
+    void notModified_sendsNoBody() {
+        final StaticAsset asset = new StaticAsset(CSS, "text/css", null, true);
+        when(context.notModified(asset.getETag())).thenReturn(true);
+
+        asset.serve(context);
+
+        verify(response, never()).result(any(byte[].class));
+    }
+
+    @Test
+    void gzippedVariant_isOnlyKept_whenItsSmaller() {
+        when(request.headers("Accept-Encoding")).thenReturn("gzip");
+        final byte[] tiny = "a".getBytes();
+
+        new StaticAsset(tiny, "text/plain", null, true).serve(context);
+
+        verify(response, never()).header(eq("Content-Encoding"), anyString());
+        verify(response).result(tiny);
+    }
+}
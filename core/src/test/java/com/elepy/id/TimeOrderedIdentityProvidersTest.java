@@ -0,0 +1,130 @@
+package com.elepy.id;
+
+import com.elepy.dao.Crud;
+import com.elepy.exceptions.ElepyConfigException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TimeOrderedIdentityProvidersTest {
+
+    @Test
+    void ulids_areSortedAndUnique_evenWithinAMillisecond() {
+        final UlidIdentityProvider<StringIdModel> provider = new UlidIdentityProvider<>(Clock.fixed(Instant.ofEpochMilli(1_600_000_000_000L), ZoneOffset.UTC));
+        final List<String> ids = new ArrayList<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(provider.generateId());
+        }
+
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        assertThat(ids.get(0)).hasSize(26).matches("[0-9A-HJKMNP-TV-Z]+").startsWith("01EJ3PX000");
+    }
+
+    @Test
+    void ulids_stayOrdered_whenTheClockMovesBackwards() {
+        final AtomicLong time = new AtomicLong(1_600_000_000_000L);
+        final UlidIdentityProvider<StringIdModel> provider = new UlidIdentityProvider<>(clock(time));
+
+        final String first = provider.generateId();
+        time.addAndGet(-5_000);
+
+        assertThat(provider.generateId()).isGreaterThan(first);
+    }
+
+    @Test
+    void snowflakeIds_containTheNodeId_andAreUnique() {
+        final AtomicLong time = new AtomicLong(SnowflakeIdentityProvider.EPOCH + 1_000);
+        final SnowflakeIdentityProvider<LongIdModel> provider = new SnowflakeIdentityProvider<>(42, clock(time));
+        final List<Long> ids = new ArrayList<>();
+
+        // More ids than fit in the sequence of one millisecond
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(provider.generateId());
+        }
+        time.addAndGet(-10);
+        ids.add(provider.generateId());
+
+        assertThat(ids).isSorted();
+        assertThat(new HashSet<>(ids)).hasSize(ids.size());
+        assertThat((ids.get(0) >> 12) & 1023).isEqualTo(42);
+        assertThat(ids.get(0) >> 22).isEqualTo(1_000);
+    }
+
+    @Test
+    void snowflakeNodeIds_mustFitInTenBits() {
+        assertThatThrownBy(() -> new SnowflakeIdentityProvider<>(1024, Clock.systemUTC()))
+                .isInstanceOf(ElepyConfigException.class);
+    }
+
+    @Test
+    void providers_onlyProvideMissingIds() {
+        final Crud<LongIdModel> longCrud = crud(LongIdModel.class);
+        final SnowflakeIdentityProvider<LongIdModel> snowflake = new SnowflakeIdentityProvider<>(1, Clock.systemUTC());
+
+        final LongIdModel withoutId = new LongIdModel();
+        final LongIdModel withId = new LongIdModel();
+        withId.id = 5L;
+
+        snowflake.provideId(withoutId, longCrud);
+        snowflake.provideId(withId, longCrud);
+
+        assertThat(withoutId.id).isPositive();
+        assertThat(withId.id).isEqualTo(5L);
+
+        final StringIdModel stringModel = new StringIdModel();
+        new UlidIdentityProvider<StringIdModel>().provideId(stringModel, crud(StringIdModel.class));
+        assertThat(stringModel.id).hasSize(26);
+    }
+
+    @Test
+    void ulids_needStringIds() {
+        assertThatThrownBy(() -> new UlidIdentityProvider<LongIdModel>().provideId(new LongIdModel(), crud(LongIdModel.class)))
+                .isInstanceOf(ElepyConfigException.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Crud<T> crud(Class<T> type) {
+        final Crud<T> crud = mock(Crud.class);
+        when(crud.getType()).thenReturn(type);
+        return crud;
+    }
+
+    private static Clock clock(AtomicLong time) {
+        return new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(java.time.ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return Instant.ofEpochMilli(time.get());
+            }
+        };
+    }
+
+    static class LongIdModel {
+        Long id;
+    }
+
+    static class StringIdModel {
+        String id;
+    }
+}
@@ -0,0 +1,45 @@
+package com.elepy.imports;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void readsRecords_withLfAndCrlf() throws IOException {
+        final CsvReader reader = new CsvReader(new StringReader("a,b\r\n1,2\n3,\n"));
+
+        assertThat(reader.readRecord()).containsExactly("a", "b");
+        assertThat(reader.readRecord()).containsExactly("1", "2");
+        assertThat(reader.readRecord()).containsExactly("3", "");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void readsQuotedFields() throws IOException {
+        final CsvReader reader = new CsvReader(new StringReader("\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\"\n\"\""));
+
+        assertThat(reader.readRecord()).containsExactly("a,b", "say \"hi\"", "two\nlines");
+        assertThat(reader.readRecord()).containsExactly("");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void skipsTheByteOrderMark() throws IOException {
+        final CsvReader reader = new CsvReader(new StringReader("\uFEFFname;label"), ';');
+
+        assertThat(reader.readRecord()).containsExactly("name", "label");
+    }
+
+    @Test
+    void unclosedQuotes_areRejected() {
+        final CsvReader reader = new CsvReader(new StringReader("\"unclosed,field\n"));
+
+        assertThatThrownBy(reader::readRecord).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,73 @@
+package com.elepy.models;
+
+import com.elepy.Resource;
+import com.elepy.annotations.Identifier;
+import com.elepy.annotations.Unique;
+import com.elepy.exceptions.ElepyException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ModelMetadataTest {
+
+    @Test
+    void isComputedOnce_perClass() {
+        assertThat(ModelMetadata.of(Resource.class)).isSameAs(ModelMetadata.of(Resource.class));
+    }
+
+    @Test
+    void findsTheIdUniqueAndSearchableFields() {
+        final ModelMetadata metadata = ModelMetadata.of(Resource.class);
+
+        assertThat(metadata.getIdField()).map(Field::getName).contains("id");
+        assertThat(metadata.getUniqueFields()).extracting(Field::getName).containsExactly("unique", "id");
+        assertThat(metadata.getSearchableFields()).extracting(Field::getName).containsExactly("searchableField");
+        assertThat(metadata.getField("unique")).map(Field::getName).contains("unique");
+        assertThat(metadata.getField("doesNotExist")).isEmpty();
+    }
+
+    @Test
+    void readsAndWritesIds() {
+        final ModelMetadata metadata = ModelMetadata.of(Resource.class);
+        final Resource resource = new Resource();
+
+        metadata.setId(resource, 5);
+
+        assertThat(resource.getId()).isEqualTo(5);
+        assertThat(metadata.getId(resource)).contains(5);
+    }
+
+    @Test
+    void findsFields_ofSuperclasses() {
+        final ModelMetadata metadata = ModelMetadata.of(Child.class);
+        final Child child = new Child();
+        child.id = "parent-id";
+
+        assertThat(metadata.getIdField()).map(Field::getDeclaringClass).contains(Parent.class);
+        assertThat(metadata.getId(child)).contains("parent-id");
+        assertThat(metadata.getUniqueFields()).extracting(Field::getName).containsExactly("code", "id");
+    }
+
+    @Test
+    void classesWithoutId_throwWhenTheIdIsRead() {
+        assertThatThrownBy(() -> ModelMetadata.of(NoId.class).getId(new NoId()))
+                .isInstanceOf(ElepyException.class);
+    }
+
+    static class Parent {
+        @Identifier
+        String id;
+    }
+
+    static class Child extends Parent {
+        @Unique
+        String code;
+    }
+
+    static class NoId {
+        String name;
+    }
+}
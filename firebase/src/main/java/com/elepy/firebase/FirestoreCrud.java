@@ -3,6 +3,7 @@ package com.elepy.firebase;
 import com.elepy.dao.Crud;
 import com.elepy.dao.Expression;
 import com.elepy.dao.Query;
+import com.elepy.exceptions.BulkWriteException;
 import com.elepy.exceptions.ElepyException;
 import com.elepy.models.Schema;
 import com.elepy.utils.ReflectionUtils;
@@ -11,14 +12,24 @@ import com.google.api.core.ApiFuture;
 import com.google.cloud.firestore.DocumentReference;
 import com.google.cloud.firestore.DocumentSnapshot;
 import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.WriteBatch;
+import com.google.common.collect.Lists;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class FirestoreCrud<T> implements Crud<T> {
 
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final Firestore db;
 
     private final ObjectMapper objectMapper;
@@ -98,6 +109,28 @@ public class FirestoreCrud<T> implements Crud<T> {
         return Optional.empty();
     }
 
+    @Override
+    public List<T> getByIds(Iterable<? extends Serializable> ids) {
+        final List<DocumentReference> documents = new ArrayList<>();
+        ids.forEach(id -> documents.add(document(id.toString())));
+
+        if (documents.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            // getAll returns the snapshots in the order of the requested documents
+            return db.getAll(documents.toArray(new DocumentReference[0])).get().stream()
+                    .filter(DocumentSnapshot::exists)
+                    .map(document -> document.toObject(getType()))
+                    .collect(Collectors.toList());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new ElepyException(e.getMessage(), 500, e);
+        }
+        return List.of();
+    }
+
     @Override
     public void update(T item) {
         try {
@@ -110,6 +143,14 @@ public class FirestoreCrud<T> implements Crud<T> {
 
     }
 
+    @Override
+    public void update(Iterable<T> items) {
+        final List<T> itemList = new ArrayList<>();
+        items.forEach(itemList::add);
+
+        inBatches(itemList, "update", this::id, (batch, item) -> batch.set(document(id(item)), item));
+    }
+
     @Override
     public void create(T item) {
         try {
@@ -150,6 +191,40 @@ public class FirestoreCrud<T> implements Crud<T> {
         }
     }
 
+    @Override
+    public void delete(Iterable<Serializable> ids) {
+        final List<Serializable> idList = new ArrayList<>();
+        ids.forEach(idList::add);
+
+        inBatches(idList, "delete", Serializable::toString, (batch, id) -> batch.delete(document(id.toString())));
+    }
+
+    /**
+     * Commits the writes in atomic WriteBatches of at most 500 writes, the Firestore limit.
+     * The items of the batches that fail to commit are reported.
+     */
+    private <I> void inBatches(List<I> items, String action, Function<I, Serializable> idOf, BiConsumer<WriteBatch, I> write) {
+        final Map<Serializable, String> failures = new LinkedHashMap<>();
+
+        for (List<I> chunk : Lists.partition(items, MAX_BATCH_SIZE)) {
+            final WriteBatch batch = db.batch();
+            chunk.forEach(item -> write.accept(batch, item));
+
+            try {
+                batch.commit().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                chunk.forEach(item -> failures.put(idOf.apply(item), e.getMessage()));
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            throw new BulkWriteException(String.format("Failed to %s %d of %d items", action, failures.size(), items.size()), failures, null);
+        }
+    }
+
     @Override
     public void delete(Expression expression) {
         // TODO
@@ -12,7 +12,7 @@ public class FirestoreQueryFactory {
         final var propertyName = filter.getPropertyName();
 
         final var value = filter.getFilterValue();
-        final var property = schema.getProperty(propertyName);
+        final var field = schema.getFilterPlan().get(propertyName);
         switch (filter.getFilterType()) {
             case EQUALS:
                 return query.whereEqualTo(propertyName, value);
@@ -25,7 +25,7 @@ public class FirestoreQueryFactory {
             case LESSER_THAN_OR_EQUALS:
                 return query.whereLessThanOrEqualTo(propertyName, value);
             case CONTAINS:
-                if (property.getType().equals(FieldType.ARRAY)) {
+                if (field.getFieldType().equals(FieldType.ARRAY)) {
                     return query.whereArrayContains(propertyName, value);
                 } else {
                     throw new ElepyException("Firestore 'CONTAINS' only works on arrays");
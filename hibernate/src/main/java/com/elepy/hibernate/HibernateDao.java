@@ -2,26 +2,47 @@ package com.elepy.hibernate;
 
 import com.elepy.dao.Crud;
 import com.elepy.dao.Expression;
+import com.elepy.dao.Filters;
 import com.elepy.dao.SortOption;
+import com.elepy.exceptions.BulkWriteException;
 import com.elepy.exceptions.ElepyException;
+import com.elepy.models.ModelMetadata;
 import com.elepy.models.Schema;
+import com.elepy.utils.MapperUtils;
+import com.elepy.utils.ReflectionUtils;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.primitives.Primitives;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.query.Query;
+import org.hibernate.type.Type;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.persistence.EntityExistsException;
+import javax.persistence.PersistenceException;
 import javax.persistence.criteria.*;
 import java.io.Serializable;
-import java.util.List;
-import java.util.Optional;
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class HibernateDao<T> implements Crud<T> {
     private static final Logger logger = LoggerFactory.getLogger(HibernateDao.class);
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final int BATCH_SIZE = 50;
+    private static final int DELETE_CHUNK_SIZE = 500;
+    private static final String UNIQUE_VIOLATION = "23505";
     private final SessionFactory sessionFactory;
     private final Schema<T> schema;
     private final ObjectMapper objectMapper;
@@ -51,28 +72,147 @@ public class HibernateDao<T> implements Crud<T> {
     @Override
     public List<T> find(com.elepy.dao.Query query) {
         try (Session session = sessionFactory.openSession()) {
+            final List<Field> fields = projectedFields(query);
 
+            if (fields.isEmpty()) {
+                return loadLazyCollections(createQuery(session, query).list());
+            }
+            return createProjectedQuery(session, query, fields).list().stream()
+                    .map(row -> fromRow(fields, row))
+                    .collect(Collectors.toList());
+        }
+    }
 
-            CriteriaBuilder cb = session.getCriteriaBuilder();
-            CriteriaQuery<T> criteriaQuery = cb.createQuery(getType());
+    @Override
+    public Stream<T> stream(com.elepy.dao.Query query) {
+        final Session session = sessionFactory.openSession();
+        final List<Field> fields = projectedFields(query);
 
-            final Root<T> root = criteriaQuery.from(getType());
+        try {
+            final ScrollableResults results = (fields.isEmpty() ? createQuery(session, query) : createProjectedQuery(session, query, fields))
+                    .setFetchSize(STREAM_FETCH_SIZE)
+                    .scroll(ScrollMode.FORWARD_ONLY);
+
+            final Iterator<T> iterator = new Iterator<>() {
+                private Boolean hasNext;
+
+                @Override
+                public boolean hasNext() {
+                    if (hasNext == null) {
+                        hasNext = results.next();
+                    }
+                    return hasNext;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    hasNext = null;
+
+                    if (!fields.isEmpty()) {
+                        return fromRow(fields, results.get(0));
+                    }
+
+                    // Detach every row after it has been read, so the session doesn't grow with the result set
+                    final T item = loadLazyCollections((T) results.get(0));
+                    session.evict(item);
+                    return item;
+                }
+            };
+
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                    .onClose(() -> {
+                        results.close();
+                        session.close();
+                    });
+        } catch (RuntimeException e) {
+            session.close();
+            throw e;
+        }
+    }
 
+    private Query<T> createQuery(Session session, com.elepy.dao.Query query) {
+        CriteriaBuilder cb = session.getCriteriaBuilder();
+        CriteriaQuery<T> criteriaQuery = cb.createQuery(getType());
 
-            Predicate predicate = new HibernateQueryFactory<>(schema, root, cb)
-                    .generatePredicate(query.getExpression());
+        final Root<T> root = criteriaQuery.from(getType());
+
+        return createQuery(session, query, criteriaQuery.select(root), root);
+    }
 
-            final List<Order> orders = generateOrderBy(cb, root, query);
+    /**
+     * Selects only the projected fields, as a tuple per row.
+     */
+    private Query<Object[]> createProjectedQuery(Session session, com.elepy.dao.Query query, List<Field> fields) {
+        CriteriaBuilder cb = session.getCriteriaBuilder();
+        CriteriaQuery<Object[]> criteriaQuery = cb.createQuery(Object[].class);
 
-            Query<T> qry = session.createQuery(criteriaQuery
-                    .select(root)
-                    .where(predicate)
-                    .orderBy(orders))
-                    .setFirstResult(query.getSkip())
-                    .setMaxResults(query.getLimit());
+        final Root<T> root = criteriaQuery.from(getType());
 
+        criteriaQuery.multiselect(fields.stream().<Selection<?>>map(field -> root.get(field.getName())).collect(Collectors.toList()));
+        return createQuery(session, query, criteriaQuery, root);
+    }
+
+    private <R> Query<R> createQuery(Session session, com.elepy.dao.Query query, CriteriaQuery<R> criteriaQuery, Root<T> root) {
+        CriteriaBuilder cb = session.getCriteriaBuilder();
+
+        Predicate predicate = new HibernateQueryFactory<>(schema, root, cb)
+                .generatePredicate(query.getExpression());
+
+        final List<Order> orders = generateOrderBy(cb, root, query);
 
-            return loadLazyCollections(qry.list());
+        return session.createQuery(criteriaQuery
+                .where(predicate)
+                .orderBy(orders))
+                .setFirstResult(query.getSkip())
+                .setMaxResults(query.getLimit());
+    }
+
+    /**
+     * @return The id field followed by the projected fields, or an empty list to load whole entities.
+     * Projections of collections can't be selected as a single column, so they load whole entities too.
+     */
+    private List<Field> projectedFields(com.elepy.dao.Query query) {
+        if (query.getFields().isEmpty()) {
+            return List.of();
+        }
+        final List<Field> fields = new ArrayList<>();
+        fields.add(ReflectionUtils.getIdField(getType()).orElseThrow(() -> new ElepyException("No id field", 500)));
+
+        for (String property : query.getFields()) {
+            final Field field = ReflectionUtils.getPropertyField(getType(), property);
+
+            if (Collection.class.isAssignableFrom(field.getType()) || Map.class.isAssignableFrom(field.getType())) {
+                return List.of();
+            }
+            if (!fields.contains(field)) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    private T fromRow(List<Field> fields, Object row) {
+        final Object[] values = row instanceof Object[] ? (Object[]) row : new Object[]{row};
+
+        try {
+            final var constructor = ReflectionUtils.getEmptyConstructor(getType())
+                    .orElseThrow(() -> new ElepyException("No empty constructor for " + getType().getName(), 500));
+            constructor.setAccessible(true);
+
+            final T item = constructor.newInstance();
+            for (int i = 0; i < fields.size(); i++) {
+                if (values[i] != null) {
+                    fields.get(i).setAccessible(true);
+                    fields.get(i).set(item, values[i]);
+                }
+            }
+            return item;
+        } catch (ReflectiveOperationException e) {
+            throw new ElepyException("Failed to load the projected fields", 500, e);
         }
     }
 
@@ -90,6 +230,25 @@ public class HibernateDao<T> implements Crud<T> {
         }
     }
 
+    @Override
+    public List<T> getByIds(Iterable<? extends Serializable> ids) {
+        final List<Serializable> idList = new ArrayList<>();
+        ids.forEach(idList::add);
+
+        if (idList.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try (Session session = sessionFactory.openSession()) {
+
+            // Loads in batches of IN queries, returned in the order of the requested ids
+            final List<T> items = session.byMultipleIds(getType())
+                    .enableOrderedReturn(true)
+                    .multiLoad(idList);
+
+            items.removeIf(Objects::isNull);
+            return loadLazyCollections(items);
+        }
+    }
 
     @Override
     public void update(T item) {
@@ -100,6 +259,66 @@ public class HibernateDao<T> implements Crud<T> {
         }
     }
 
+    @Override
+    public void update(Iterable<T> items) {
+        inBatches(items, "update", Session::update);
+    }
+
+    @Override
+    public long patch(Serializable id, Map<String, Object> changes) {
+        return patch(Filters.eq(schema.getIdProperty(), id), changes);
+    }
+
+    @Override
+    public long patch(Expression expression, Map<String, Object> changes) {
+        final Map<String, Object> patchable = MapperUtils.patchableChanges(changes, getType());
+
+        if (patchable.isEmpty()) {
+            return count(new com.elepy.dao.Query(expression));
+        }
+
+        // Convert the changes to the types of the model, the way a full update would
+        final T prototype = objectMapper.convertValue(patchable, getType());
+
+        try (Session session = sessionFactory.openSession()) {
+            final Transaction transaction = session.beginTransaction();
+            CriteriaBuilder cb = session.getCriteriaBuilder();
+
+            final CriteriaUpdate<T> criteriaUpdate = cb.createCriteriaUpdate(getType());
+            final Root<T> root = criteriaUpdate.from(getType());
+
+            for (String property : patchable.keySet()) {
+                final Field field = ReflectionUtils.findFieldWithName(getType(), property).orElseThrow();
+                field.setAccessible(true);
+                criteriaUpdate.set(field.getName(), field.get(prototype));
+            }
+
+            incrementVersion(cb, criteriaUpdate, root);
+            criteriaUpdate.where(new HibernateQueryFactory<>(schema, root, cb).generatePredicate(expression));
+
+            final int matched = session.createQuery(criteriaUpdate).executeUpdate();
+            transaction.commit();
+            return matched;
+        } catch (IllegalAccessException e) {
+            throw new ElepyException("Failed to read the changes", 500, e);
+        }
+    }
+
+    /**
+     * Bulk updates skip the optimistic locking of Hibernate, so the version is set like a versioned update would.
+     */
+    private void incrementVersion(CriteriaBuilder cb, CriteriaUpdate<T> criteriaUpdate, Root<T> root) {
+        ModelMetadata.of(getType()).getVersionField().ifPresent(field -> {
+            if (Number.class.isAssignableFrom(Primitives.wrap(field.getType()))) {
+                final Path<Number> version = root.get(field.getName());
+                criteriaUpdate.set(version, cb.sum(version, 1));
+            } else {
+                final Path<java.sql.Timestamp> version = root.get(field.getName());
+                criteriaUpdate.set(version, cb.currentTimestamp());
+            }
+        });
+    }
+
     private void create(Session session, T item) {
         session.save(item);
     }
@@ -113,11 +332,34 @@ public class HibernateDao<T> implements Crud<T> {
             transaction.commit();
 
         } catch (Exception e) {
-            logger.error(e.getMessage(), e);
-            throw new ElepyException(e.getMessage());
+            throw createException(e);
         }
     }
 
+    /**
+     * Unique constraints are the final guard against duplicates that are created at the same time.
+     * Other constraint violations, such as foreign keys or NOT NULL columns, aren't conflicts.
+     */
+    private ElepyException createException(Exception e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof EntityExistsException || (cause instanceof ConstraintViolationException && isUniqueViolation((ConstraintViolationException) cause))) {
+                return new ElepyException("An item with the same unique values already exists in the system!", 409, e);
+            }
+        }
+        logger.error(e.getMessage(), e);
+        return new ElepyException(e.getMessage());
+    }
+
+    /**
+     * Uses the SQLState for unique violations, or the prefix Hibernate gives the names of the unique keys it generates.
+     */
+    private static boolean isUniqueViolation(ConstraintViolationException e) {
+        final String constraintName = e.getConstraintName();
+
+        return UNIQUE_VIOLATION.equals(e.getSQLState()) ||
+                (constraintName != null && constraintName.toUpperCase(Locale.ROOT).startsWith("UK_"));
+    }
+
     @Override
     public List<T> getAll() {
         try (Session session = sessionFactory.openSession()) {
@@ -141,12 +383,19 @@ public class HibernateDao<T> implements Crud<T> {
             transaction.commit();
 
         } catch (Exception e) {
-            logger.error(e.getMessage(), e);
-            throw new ElepyException(e.getMessage());
+            throw createException(e);
         }
     }
 
 
+    /**
+     * Hibernate increments versions on updates, and {@link #patch(Expression, Map)} increments them too.
+     */
+    @Override
+    public boolean incrementsVersions() {
+        return true;
+    }
+
     @Override
     public Schema<T> getSchema() {
         return schema;
@@ -170,9 +419,13 @@ public class HibernateDao<T> implements Crud<T> {
             final Root<T> root = criteriaQuery.from(getType());
 
             criteriaQuery.select(cb.count(root));
-            Predicate predicate = new HibernateQueryFactory<>(schema, root, cb).generatePredicate(query.getExpression());
 
-            criteriaQuery.where(predicate);
+            // Unfiltered counts don't need a where clause
+            if (!query.purge().getExpression().canBeIgnored()) {
+                Predicate predicate = new HibernateQueryFactory<>(schema, root, cb).generatePredicate(query.getExpression());
+
+                criteriaQuery.where(predicate);
+            }
 
 
             Query<Long> query1 = session.createQuery(criteriaQuery);
@@ -196,6 +449,82 @@ public class HibernateDao<T> implements Crud<T> {
         }
     }
 
+    /**
+     * Deletes the items with bulk <code>id IN (...)</code> statements of at most {@value DELETE_CHUNK_SIZE} ids,
+     * in one transaction. Like {@link #delete(Expression)}, the items aren't loaded, so lifecycle callbacks don't apply.
+     * <p>
+     * Bulk deletes don't remove the rows of collection tables, so models with collections are still loaded
+     * and deleted one by one, letting Hibernate cascade to their collections.
+     */
+    @Override
+    public void delete(Iterable<Serializable> ids) {
+        if (hasCollections()) {
+            inBatches(getByIds(ids), "delete", Session::delete);
+            return;
+        }
+        final List<Serializable> idList = new ArrayList<>();
+        ids.forEach(idList::add);
+
+        if (idList.isEmpty()) {
+            return;
+        }
+        try (Session session = sessionFactory.openSession()) {
+            final Transaction transaction = session.beginTransaction();
+            CriteriaBuilder cb = session.getCriteriaBuilder();
+
+            for (int from = 0; from < idList.size(); from += DELETE_CHUNK_SIZE) {
+                final List<Serializable> chunk = idList.subList(from, Math.min(from + DELETE_CHUNK_SIZE, idList.size()));
+                final var criteriaDelete = cb.createCriteriaDelete(getType());
+                final Root<T> root = criteriaDelete.from(getType());
+
+                session.createQuery(criteriaDelete.where(root.get(schema.getIdProperty()).in(chunk))).executeUpdate();
+            }
+            transaction.commit();
+        }
+    }
+
+    private boolean hasCollections() {
+        final EntityPersister persister = sessionFactory.unwrap(SessionFactoryImplementor.class)
+                .getMetamodel()
+                .entityPersister(getType());
+
+        return Arrays.stream(persister.getPropertyTypes()).anyMatch(Type::isCollectionType);
+    }
+
+    /**
+     * Writes all items in one session and transaction, flushing them as JDBC batches.
+     * When a batch fails, nothing is written and the items of that batch are reported.
+     */
+    private void inBatches(Iterable<T> items, String action, BiConsumer<Session, T> write) {
+        try (Session session = sessionFactory.openSession()) {
+            session.setJdbcBatchSize(BATCH_SIZE);
+            final Transaction transaction = session.beginTransaction();
+            final List<T> batch = new ArrayList<>();
+
+            try {
+                for (T item : items) {
+                    batch.add(item);
+                    write.accept(session, item);
+
+                    if (batch.size() == BATCH_SIZE) {
+                        session.flush();
+                        session.clear();
+                        batch.clear();
+                    }
+                }
+                transaction.commit();
+            } catch (PersistenceException e) {
+                if (transaction.getStatus().canRollback()) {
+                    transaction.rollback();
+                }
+                final Map<Serializable, String> failures = new LinkedHashMap<>();
+                batch.forEach(item -> failures.put(getId(item), e.getMessage()));
+
+                throw new BulkWriteException(String.format("Failed to %s items, no changes were made", action), failures, e);
+            }
+        }
+    }
+
     @Override
     public void delete(Expression expression) {
         try (Session session = sessionFactory.openSession()) {
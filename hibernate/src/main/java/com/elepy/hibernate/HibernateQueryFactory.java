@@ -3,14 +3,15 @@ package com.elepy.hibernate;
 import com.elepy.annotations.Searchable;
 import com.elepy.dao.BooleanGroup;
 import com.elepy.dao.Expression;
+import com.elepy.dao.ExpressionOptimizer;
 import com.elepy.dao.Filter;
+import com.elepy.dao.FilterType;
+import com.elepy.dao.FilterableField;
 import com.elepy.dao.SearchQuery;
 import com.elepy.exceptions.ElepyConfigException;
 import com.elepy.exceptions.ElepyException;
 import com.elepy.models.FieldType;
-import com.elepy.models.Property;
 import com.elepy.models.Schema;
-import com.elepy.utils.MapperUtils;
 import com.elepy.utils.ReflectionUtils;
 
 import javax.persistence.Column;
@@ -40,18 +41,22 @@ public class HibernateQueryFactory<T> {
 
         if (group.getOperator().equals(BooleanGroup.BooleanOperator.OR)) {
             return cb.or(group.getExpressions().stream()
-                    .map(this::generatePredicate)
+                    .map(this::translate)
                     .toArray(Predicate[]::new)
             );
         } else {
             return cb.and(group.getExpressions().stream()
-                    .map(this::generatePredicate)
+                    .map(this::translate)
                     .toArray(Predicate[]::new)
             );
         }
     }
 
     public Predicate generatePredicate(Expression qry) {
+        return translate(ExpressionOptimizer.optimize(qry, schema.getFilterPlan()));
+    }
+
+    private Predicate translate(Expression qry) {
 
         if (qry instanceof Filter) {
             return filter((Filter) qry);
@@ -65,14 +70,14 @@ public class HibernateQueryFactory<T> {
 
     private Predicate filter(Filter filter) {
 
-        final Property property = schema.getProperty(filter.getPropertyName());
-        final FieldType fieldType = property.getType();
+        final FilterableField field = schema.getFilterPlan().get(filter.getPropertyName());
+        final FieldType fieldType = field.getFieldType();
+        final String fieldName = field.getJavaName();
 
-        final Field field;
-
-        field = ReflectionUtils.getPropertyField(schema.getJavaClass(), property.getName());
-        final Serializable value = value(field, property, filter.getFilterValue().toString());
-        final String fieldName = property.getJavaName();
+        if (filter.getFilterType() == FilterType.IN) {
+            return root.get(fieldName).in(field.values(filter).toArray());
+        }
+        final Serializable value = field.value(filter.getFilterValue());
         switch (filter.getFilterType()) {
             case EQUALS:
                 return cb.equal(root.get(fieldName), value);
@@ -87,27 +92,35 @@ public class HibernateQueryFactory<T> {
             case GREATER_THAN:
                 if (fieldType.equals(FieldType.DATE)) {
                     return cb.greaterThan(root.get(fieldName).as(Date.class), (Date) value);
-                } else {
+                } else if (value instanceof Number) {
                     return cb.gt(root.get(fieldName), (Number) value);
+                } else {
+                    return cb.greaterThan(root.get(fieldName), value.toString());
                 }
             case LESSER_THAN:
                 if (fieldType.equals(FieldType.DATE)) {
                     return cb.lessThan(root.get(fieldName).as(Date.class), (Date) value);
-                } else {
+                } else if (value instanceof Number) {
                     return cb.lt(root.get(fieldName), (Number) value);
+                } else {
+                    return cb.lessThan(root.get(fieldName), value.toString());
                 }
             case GREATER_THAN_OR_EQUALS:
 
                 if (fieldType.equals(FieldType.DATE)) {
                     return cb.greaterThanOrEqualTo(root.get(fieldName).as(Date.class), (Date) value);
-                } else {
+                } else if (value instanceof Number) {
                     return cb.ge(root.get(fieldName), (Number) value);
+                } else {
+                    return cb.greaterThanOrEqualTo(root.get(fieldName), value.toString());
                 }
             case LESSER_THAN_OR_EQUALS:
                 if (fieldType.equals(FieldType.DATE)) {
                     return cb.lessThanOrEqualTo(root.get(fieldName).as(Date.class), (Date) value);
-                } else {
+                } else if (value instanceof Number) {
                     return cb.le(root.get(fieldName), (Number) value);
+                } else {
+                    return cb.lessThanOrEqualTo(root.get(fieldName), value.toString());
                 }
             case STARTS_WITH:
                 return cb.like(root.get(fieldName), value + "%");
@@ -129,10 +142,6 @@ public class HibernateQueryFactory<T> {
                 .collect(Collectors.toList());
     }
 
-    private static Serializable value(Field field, Property property, String value) {
-        return MapperUtils.toValueFromString(field, property.getType(), value);
-    }
-
     private String getJPAFieldName(Field field) {
         Column annotation = com.elepy.utils.Annotations.get(field,Column.class);
 
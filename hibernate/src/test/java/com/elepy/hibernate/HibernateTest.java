@@ -139,6 +139,19 @@ public class HibernateTest {
 
     }
 
+    @Test
+    void testPatch_incrementsTheVersion() {
+        final Resource resource = validObject();
+        resourceCrud.create(resource);
+
+        resourceCrud.patch(resource.getId(), Map.of("textField", "patched"));
+        resourceCrud.patch(eq("textField", "patched"), Map.of("searchableField", "patched"));
+
+        final Resource patched = resourceCrud.getById(resource.getId()).orElseThrow();
+        assertThat(patched.getVersion()).isEqualTo(resource.getVersion() + 2);
+        assertThat(resourceCrud.incrementsVersions()).isTrue();
+    }
+
     private long count() {
         try (Session session = sessionFactory.openSession()) {
             final Query<Long> query = session.createQuery("select count(*) from " + Resource.class.getName(), Long.class);
@@ -7,6 +7,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import javax.validation.constraints.Size;
 import java.math.BigDecimal;
 import java.util.Date;
@@ -62,6 +63,9 @@ public class Resource {
 
     private Date date;
 
+    @Version
+    private long version;
+
     public Date getDate() {
         return date;
     }
@@ -174,4 +178,12 @@ public class Resource {
     public void setId(int id) {
         this.id = id;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
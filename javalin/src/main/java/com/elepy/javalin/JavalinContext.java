@@ -2,7 +2,7 @@ package com.elepy.javalin;
 
 import com.elepy.http.HttpContext;
 import com.elepy.http.Request;
-import com.elepy.http.Response;
+import com.elepy.http.ResponseCompression;
 import io.javalin.http.Context;
 
 public class JavalinContext implements HttpContext {
@@ -10,8 +10,12 @@ public class JavalinContext implements HttpContext {
     private final JavalinResponse response;
 
     public JavalinContext(Context context) {
+        this(context, new ResponseCompression().enabled(false));
+    }
+
+    public JavalinContext(Context context, ResponseCompression compression) {
         this.request = new JavalinRequest(context);
-        this.response = new JavalinResponse(context);
+        this.response = new JavalinResponse(context, compression);
     }
 
     @Override
@@ -20,7 +24,7 @@ public class JavalinContext implements HttpContext {
     }
 
     @Override
-    public Response response() {
+    public JavalinResponse response() {
         return response;
     }
 }
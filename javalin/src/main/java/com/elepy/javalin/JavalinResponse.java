@@ -1,21 +1,26 @@
 package com.elepy.javalin;
 
 import com.elepy.http.Response;
+import com.elepy.http.ResponseCompression;
 import io.javalin.http.Context;
 
-import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.Optional;
-import java.util.zip.GZIPOutputStream;
+import java.nio.charset.StandardCharsets;
 
 public class JavalinResponse implements Response {
 
     private final Context context;
+    private final ResponseCompression compression;
+    private OutputStream outputStream;
 
     public JavalinResponse(Context context) {
+        this(context, new ResponseCompression().enabled(false));
+    }
+
+    public JavalinResponse(Context context, ResponseCompression compression) {
         this.context = context;
+        this.compression = compression;
     }
 
     @Override
@@ -35,30 +40,44 @@ public class JavalinResponse implements Response {
 
     @Override
     public void result(byte[] bytes) {
-        HttpServletResponse raw = context.res;
-
-        try {
-            OutputStream outputStream = raw.getOutputStream();
-
-
-            if (Optional.ofNullable(context.req.getHeader("Accept-Encoding")).orElse("").contains("gzip") &&
-                    Optional.ofNullable(raw.getHeader("Content-Encoding")).orElse("").contains("gzip")) {
-                outputStream = new GZIPOutputStream(outputStream, true);
-            }
+        try (OutputStream outputStream = outputStream()) {
             outputStream.write(bytes);
-            outputStream.flush();
-            outputStream.close();
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Writes a String result through {@link #outputStream()}, so that it gets compressed like other responses.
+     * Javalin doesn't write the result of a response that has been committed.
+     */
+    void writeResult() {
+        if (context.res.isCommitted()) {
+            return;
+        }
+        final String result = context.resultString();
+        if (result != null) {
+            result(result.getBytes(StandardCharsets.UTF_8));
+        }
+    }
 
     @Override
     public String result() {
         return context.resultString();
     }
 
+    @Override
+    public OutputStream outputStream() {
+        if (outputStream == null) {
+            try {
+                outputStream = compression.compress(context.header("Accept-Encoding"), this, context.res.getOutputStream());
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return outputStream;
+    }
+
     @Override
     public void type(String type) {
         context.contentType(type);
@@ -93,4 +112,9 @@ public class JavalinResponse implements Response {
     public void header(String s, String s1) {
         context.header(s, s1);
     }
+
+    @Override
+    public String header(String name) {
+        return context.res.getHeader(name);
+    }
 }
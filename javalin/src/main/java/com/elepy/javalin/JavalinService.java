@@ -9,6 +9,7 @@ public class JavalinService implements HttpService {
 
     private int port;
     private Javalin javalin;
+    private ResponseCompression compression = new ResponseCompression();
 
     public JavalinService() {
         this.javalin = Javalin.create();
@@ -26,15 +27,26 @@ public class JavalinService implements HttpService {
         return this.port;
     }
 
+    @Override
+    public void compression(ResponseCompression compression) {
+        this.compression = compression;
+    }
+
     @Override
     public void addRoute(Route route) {
         javalin.addHandler(HandlerType.valueOf(route.getMethod().name()),
-                route.getPath(), context -> route.getHttpContextHandler().handle(new JavalinContext(context)));
+                route.getPath(), context -> {
+                    final JavalinContext javalinContext = new JavalinContext(context, compression);
+                    route.getHttpContextHandler().handle(javalinContext);
+                    javalinContext.response().writeResult();
+                });
     }
 
     @Override
     public void ignite() {
         javalin.config.showJavalinBanner = false;
+        //Responses are compressed by the ResponseCompression
+        javalin.config.dynamicGzip = false;
         javalin.start(port);
     }
 
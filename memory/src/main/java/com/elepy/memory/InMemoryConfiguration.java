@@ -0,0 +1,21 @@
+package com.elepy.memory;
+
+import com.elepy.Configuration;
+import com.elepy.ElepyPostConfiguration;
+import com.elepy.ElepyPreConfiguration;
+
+/**
+ * Stores every model in memory. Nothing is persisted, the records are gone when Elepy stops.
+ */
+public class InMemoryConfiguration implements Configuration {
+
+    @Override
+    public void preConfig(ElepyPreConfiguration elepy) {
+        elepy.withDefaultCrudFactory(InMemoryCrudFactory.class);
+    }
+
+    @Override
+    public void postConfig(ElepyPostConfiguration elepy) {
+
+    }
+}
@@ -0,0 +1,367 @@
+package com.elepy.memory;
+
+import com.elepy.dao.BooleanGroup;
+import com.elepy.dao.Crud;
+import com.elepy.dao.Expression;
+import com.elepy.dao.ExpressionCompiler;
+import com.elepy.dao.ExpressionOptimizer;
+import com.elepy.dao.Filter;
+import com.elepy.dao.FilterType;
+import com.elepy.dao.Query;
+import com.elepy.dao.SortOption;
+import com.elepy.exceptions.ElepyException;
+import com.elepy.models.Property;
+import com.elepy.models.Schema;
+import com.elepy.utils.ComparisonUtils;
+import com.elepy.utils.MapperUtils;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A Crud that keeps its records in memory. Useful for tests, prototypes and small reference data.
+ * <p>
+ * Records are stored as copies, so changing an item after it has been written or read doesn't
+ * change the stored record. The {@link com.elepy.annotations.Unique}, {@link com.elepy.annotations.Searchable}
+ * and default sort properties are kept in sorted indexes, which answer equality and range filters
+ * without scanning every record.
+ *
+ * @param <T> The type of the Model
+ */
+public class InMemoryCrud<T> implements Crud<T> {
+
+    // Above this amount of records, unindexed scans are spread over all cores
+    private static final int PARALLEL_SCAN_THRESHOLD = 10_000;
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final Schema<T> schema;
+    private final ObjectMapper objectMapper;
+    private final ExpressionCompiler<T> compiler;
+
+    private final Map<String, T> records = new ConcurrentHashMap<>();
+    private final Map<String, SortedIndex<T>> indexes = new HashMap<>();
+
+    // Readers don't lock, writers are serialized so that records and indexes change together
+    private final Object writeLock = new Object();
+
+    public InMemoryCrud(Schema<T> schema, ObjectMapper objectMapper) {
+        this.schema = schema;
+        this.objectMapper = objectMapper;
+        this.compiler = new ExpressionCompiler<>(schema);
+
+        for (Property property : schema.getProperties()) {
+            final boolean sortField = property.getName().equals(schema.getDefaultSortField());
+
+            if ((property.isUnique() || property.isSearchable() || sortField) && isIndexable(property.getName())) {
+                indexes.put(property.getName(), new SortedIndex<>(compiler.accessor(property.getName()).orElseThrow()));
+            }
+        }
+    }
+
+    // Read operations
+
+    @Override
+    public List<T> find(Query query) {
+        query.purge();
+
+        final List<T> page = sortedPage(matches(query.getExpression()), query);
+
+        return page.stream().map(record -> copy(record, query.getFields())).collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<T> stream(Query query) {
+        return find(query).stream();
+    }
+
+    @Override
+    public Optional<T> getById(Serializable id) {
+        return Optional.ofNullable(records.get(key(id))).map(this::copy);
+    }
+
+    @Override
+    public List<T> getByIds(Iterable<? extends Serializable> ids) {
+        final List<T> found = new ArrayList<>();
+        for (Serializable id : ids) {
+            final T record = records.get(key(id));
+            if (record != null) {
+                found.add(copy(record));
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public List<T> getAll() {
+        return records.values().stream().map(this::copy).collect(Collectors.toList());
+    }
+
+    @Override
+    public long count(Query query) {
+        query.purge();
+
+        if (query.getExpression().canBeIgnored()) {
+            return records.size();
+        }
+        return matches(query.getExpression()).count();
+    }
+
+    // Write operations
+
+    @Override
+    public void create(T item) {
+        final String id = key(getId(item));
+
+        synchronized (writeLock) {
+            if (records.containsKey(id)) {
+                throw new ElepyException(String.format("A record with the id '%s' already exists", id), 409);
+            }
+            store(id, null, copy(item));
+        }
+    }
+
+    @Override
+    public void update(T item) {
+        final String id = key(getId(item));
+
+        synchronized (writeLock) {
+            final T current = records.get(id);
+            if (current != null) {
+                store(id, current, copy(item));
+            }
+        }
+    }
+
+    @Override
+    public long patch(Serializable id, Map<String, Object> changes) {
+        final String key = key(id);
+
+        synchronized (writeLock) {
+            final T current = records.get(key);
+            if (current == null) {
+                return 0;
+            }
+            store(key, current, withChanges(current, changes));
+            return 1;
+        }
+    }
+
+    @Override
+    public long patch(Expression expression, Map<String, Object> changes) {
+        synchronized (writeLock) {
+            final List<T> matched = matches(expression).collect(Collectors.toList());
+
+            for (T current : matched) {
+                store(key(getId(current)), current, withChanges(current, changes));
+            }
+            return matched.size();
+        }
+    }
+
+    @Override
+    public void deleteById(Serializable id) {
+        final String key = key(id);
+
+        synchronized (writeLock) {
+            final T current = records.remove(key);
+            if (current != null) {
+                unindex(key, current);
+            }
+        }
+    }
+
+    @Override
+    public void delete(Expression expression) {
+        synchronized (writeLock) {
+            matches(expression).collect(Collectors.toList()).forEach(record -> deleteById(getId(record)));
+        }
+    }
+
+    @Override
+    public Schema<T> getSchema() {
+        return schema;
+    }
+
+    @Override
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    // Querying
+
+    private Stream<T> matches(Expression query) {
+        final Expression expression = ExpressionOptimizer.optimize(query, schema.getFilterPlan());
+        final Set<String> candidates = candidates(expression);
+
+        if (candidates == null) {
+            return records.size() < PARALLEL_SCAN_THRESHOLD ?
+                    compiler.filter(records.values(), expression) :
+                    compiler.filterParallel(records.values(), expression);
+        }
+
+        final Predicate<T> predicate = compiler.compile(expression);
+        return candidates.stream().map(records::get).filter(Objects::nonNull).filter(predicate);
+    }
+
+    /**
+     * Narrows an expression down with the indexes. The candidates are a superset of the matches,
+     * every candidate is still tested against the whole expression.
+     *
+     * @return The ids of the candidates, or null if every record is a candidate
+     */
+    private Set<String> candidates(Expression expression) {
+        if (expression instanceof Filter) {
+            final Filter filter = (Filter) expression;
+            final SortedIndex<T> index = indexes.get(filter.getPropertyName());
+
+            if (index == null) {
+                return null;
+            }
+            if (filter.getFilterType() == FilterType.IN) {
+                final Set<String> ids = new HashSet<>();
+                for (Serializable value : compiler.filterValues(filter)) {
+                    final Set<String> matches = index.lookup(FilterType.EQUALS, value);
+                    if (matches == null) {
+                        return null;
+                    }
+                    ids.addAll(matches);
+                }
+                return ids;
+            }
+            return index.lookup(filter.getFilterType(), compiler.filterValue(filter));
+        }
+        if (expression instanceof BooleanGroup && !expression.canBeIgnored()) {
+            final BooleanGroup group = (BooleanGroup) expression;
+
+            if (group.getOperator() == BooleanGroup.BooleanOperator.AND) {
+                // The most selective indexed child is enough, the others are checked by the predicate
+                return group.getExpressions().stream()
+                        .map(this::candidates)
+                        .filter(Objects::nonNull)
+                        .min(Comparator.comparingInt(Set::size))
+                        .orElse(null);
+            }
+
+            final Set<String> union = new HashSet<>();
+            for (Expression child : group.getExpressions()) {
+                final Set<String> candidates = candidates(child);
+                if (candidates == null) {
+                    return null;
+                }
+                union.addAll(candidates);
+            }
+            return union;
+        }
+        return null;
+    }
+
+    /**
+     * Sorts the matches and cuts out the requested page. When the page is smaller than the amount
+     * of records, only the records up to the end of the page are kept in a bounded heap.
+     */
+    private List<T> sortedPage(Stream<T> matches, Query query) {
+        final Comparator<T> comparator = comparator(query);
+        final long end = (long) query.getSkip() + query.getLimit();
+
+        final List<T> sorted;
+        if (end < records.size()) {
+            final PriorityQueue<T> heap = new PriorityQueue<>((int) end + 1, comparator.reversed());
+
+            // The heap isn't thread-safe, so parallel scans are drained on a single thread
+            matches.sequential().forEach(record -> {
+                if (heap.size() < end) {
+                    heap.add(record);
+                } else if (comparator.compare(record, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(record);
+                }
+            });
+            sorted = new ArrayList<>(heap);
+        } else {
+            sorted = matches.collect(Collectors.toList());
+        }
+        sorted.sort(comparator);
+
+        if (query.getSkip() >= sorted.size()) {
+            return List.of();
+        }
+        return sorted.subList(query.getSkip(), (int) Math.min(end, sorted.size()));
+    }
+
+    /**
+     * Orders by the sorting specification, and then by id, so that pages never overlap.
+     */
+    private Comparator<T> comparator(Query query) {
+        Comparator<T> comparator = (a, b) -> 0;
+
+        for (Map.Entry<String, SortOption> sort : query.getSortingSpecification().getMap().entrySet()) {
+            final Optional<Function<T, Object>> accessor = compiler.accessor(sort.getKey());
+
+            if (accessor.isPresent()) {
+                final Function<T, Object> property = accessor.get();
+                final Comparator<T> byProperty = (a, b) -> ComparisonUtils.compareForSort(property.apply(a), property.apply(b));
+                comparator = comparator.thenComparing(sort.getValue() == SortOption.DESCENDING ? byProperty.reversed() : byProperty);
+            }
+        }
+        return comparator.thenComparing((a, b) -> ComparisonUtils.compareForSort(getId(a), getId(b)));
+    }
+
+    // Storage
+
+    private void store(String id, T current, T replacement) {
+        if (current != null) {
+            unindex(id, current);
+        }
+        records.put(id, replacement);
+        indexes.values().forEach(index -> index.add(id, replacement));
+    }
+
+    private void unindex(String id, T record) {
+        indexes.values().forEach(index -> index.remove(id, record));
+    }
+
+    private T withChanges(T record, Map<String, Object> changes) {
+        return MapperUtils.objectFromMaps(objectMapper, objectMapper.convertValue(record, MAP_TYPE), changes, getType());
+    }
+
+    private T copy(T record) {
+        return objectMapper.convertValue(record, getType());
+    }
+
+    private T copy(T record, List<String> fields) {
+        if (fields.isEmpty()) {
+            return copy(record);
+        }
+        final Map<String, Object> projected = objectMapper.convertValue(record, MAP_TYPE);
+        projected.keySet().removeIf(property -> !property.equals(schema.getIdProperty()) && !fields.contains(property));
+
+        return objectMapper.convertValue(projected, getType());
+    }
+
+    private boolean isIndexable(String property) {
+        final Class<?> type = compiler.typeOf(property).orElse(null);
+
+        if (type == null) {
+            return false;
+        }
+        return type.isPrimitive()
+                || Number.class.isAssignableFrom(type)
+                || CharSequence.class.isAssignableFrom(type)
+                || Date.class.isAssignableFrom(type)
+                || Boolean.class.equals(type)
+                || type.isEnum();
+    }
+
+    private static String key(Serializable id) {
+        return String.valueOf(id);
+    }
+}
@@ -0,0 +1,18 @@
+package com.elepy.memory;
+
+import com.elepy.annotations.Inject;
+import com.elepy.dao.Crud;
+import com.elepy.dao.CrudFactory;
+import com.elepy.models.Schema;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class InMemoryCrudFactory implements CrudFactory {
+
+    @Inject
+    private ObjectMapper objectMapper;
+
+    @Override
+    public <T> Crud<T> crudFor(Schema<T> schema) {
+        return new InMemoryCrud<>(schema, objectMapper);
+    }
+}
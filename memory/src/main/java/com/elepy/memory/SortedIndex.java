@@ -0,0 +1,79 @@
+package com.elepy.memory;
+
+import com.elepy.dao.FilterType;
+import com.elepy.utils.ComparisonUtils;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * A sorted secondary index, mapping the values of one property to the ids of the records that hold them.
+ * Empty values aren't indexed.
+ */
+class SortedIndex<T> {
+
+    private final Function<T, Object> accessor;
+    private final ConcurrentSkipListMap<Comparable<Object>, Set<String>> entries = new ConcurrentSkipListMap<>();
+
+    SortedIndex(Function<T, Object> accessor) {
+        this.accessor = accessor;
+    }
+
+    void add(String id, T record) {
+        final Comparable<Object> key = ComparisonUtils.comparable(accessor.apply(record));
+        if (key != null) {
+            entries.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    void remove(String id, T record) {
+        final Comparable<Object> key = ComparisonUtils.comparable(accessor.apply(record));
+        if (key != null) {
+            entries.computeIfPresent(key, (k, ids) -> ids.remove(id) && ids.isEmpty() ? null : ids);
+        }
+    }
+
+    /**
+     * @return The ids of the records that match the filter, or null if this index can't answer the filter
+     */
+    Set<String> lookup(FilterType filterType, Object filterValue) {
+        final Comparable<Object> key = ComparisonUtils.comparable(filterValue);
+
+        if (key == null) {
+            return null;
+        }
+        try {
+            switch (filterType) {
+                case EQUALS:
+                    final Set<String> ids = entries.get(key);
+                    return ids == null ? Set.of() : new HashSet<>(ids);
+                case GREATER_THAN:
+                    return idsIn(entries.tailMap(key, false));
+                case GREATER_THAN_OR_EQUALS:
+                    return idsIn(entries.tailMap(key, true));
+                case LESSER_THAN:
+                    return idsIn(entries.headMap(key, false));
+                case LESSER_THAN_OR_EQUALS:
+                    return idsIn(entries.headMap(key, true));
+                default:
+                    return null;
+            }
+        } catch (ClassCastException e) {
+            // The filter value has a different type than the indexed values
+            return null;
+        }
+    }
+
+    private static Set<String> idsIn(NavigableMap<Comparable<Object>, Set<String>> range) {
+        final Set<String> ids = new HashSet<>();
+        for (Collection<String> values : range.values()) {
+            ids.addAll(values);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,86 @@
+package com.elepy.memory;
+
+import com.elepy.annotations.Identifier;
+import com.elepy.annotations.Model;
+import com.elepy.dao.Crud;
+import com.elepy.id.HiLoIdentityProvider;
+import com.elepy.id.IdBlock;
+import com.elepy.utils.ModelUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HiLoIdentityProviderTest {
+
+    private Crud<IdBlock> blocks;
+    private Crud<Item> items;
+
+    @BeforeEach
+    void setUp() {
+        blocks = new InMemoryCrud<>(ModelUtils.createDeepSchema(IdBlock.class), new ObjectMapper());
+        items = new InMemoryCrud<>(ModelUtils.createDeepSchema(Item.class), new ObjectMapper());
+    }
+
+    @Test
+    void handsOutSequentialIds_fromReservedBlocks() {
+        final HiLoIdentityProvider<Item> provider = new HiLoIdentityProvider<>(blocks, 10);
+        final List<Long> ids = new ArrayList<>();
+
+        for (int i = 0; i < 25; i++) {
+            ids.add(provide(provider).id);
+        }
+
+        assertThat(ids).containsExactlyElementsOf(longIdsFrom1To(25));
+        assertThat(blocks.count()).isEqualTo(3);
+    }
+
+    @Test
+    void providersOnDifferentServers_neverShareABlock() {
+        final HiLoIdentityProvider<Item> first = new HiLoIdentityProvider<>(blocks, 10);
+        final HiLoIdentityProvider<Item> second = new HiLoIdentityProvider<>(blocks, 10);
+        final ConcurrentLinkedQueue<Long> ids = new ConcurrentLinkedQueue<>();
+
+        IntStream.range(0, 1_000).parallel()
+                .forEach(i -> ids.add(provide(i % 2 == 0 ? first : second).id));
+
+        assertThat(ids).doesNotHaveDuplicates().hasSize(1_000);
+    }
+
+    @Test
+    void keepsExistingIds() {
+        final Item item = new Item();
+        item.id = 1234L;
+
+        new HiLoIdentityProvider<Item>(blocks, 10).provideId(item, items);
+
+        assertThat(item.id).isEqualTo(1234L);
+        assertThat(blocks.count()).isZero();
+    }
+
+    private Item provide(HiLoIdentityProvider<Item> provider) {
+        final Item item = new Item();
+        provider.provideId(item, items);
+        return item;
+    }
+
+    private static List<Long> longIdsFrom1To(int last) {
+        final List<Long> ids = new ArrayList<>();
+        for (long i = 1; i <= last; i++) {
+            ids.add(i);
+        }
+        return ids;
+    }
+
+    @Model(name = "Items", path = "/items")
+    public static class Item {
+        @Identifier
+        public Long id;
+    }
+}
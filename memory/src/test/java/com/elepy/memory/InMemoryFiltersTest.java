@@ -0,0 +1,11 @@
+package com.elepy.memory;
+
+import com.elepy.Elepy;
+import com.elepy.tests.dao.FiltersTest;
+
+public class InMemoryFiltersTest extends FiltersTest {
+    @Override
+    public void configureElepy(Elepy elepy) {
+        elepy.addConfiguration(new InMemoryConfiguration());
+    }
+}
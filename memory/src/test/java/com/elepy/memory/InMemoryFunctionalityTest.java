@@ -0,0 +1,11 @@
+package com.elepy.memory;
+
+import com.elepy.Elepy;
+import com.elepy.tests.basic.BasicFunctionalityTest;
+
+public class InMemoryFunctionalityTest extends BasicFunctionalityTest {
+    @Override
+    public void configureElepy(Elepy elepy) {
+        elepy.addConfiguration(new InMemoryConfiguration());
+    }
+}
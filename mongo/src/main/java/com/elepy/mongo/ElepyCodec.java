@@ -8,17 +8,26 @@ import org.bson.types.ObjectId;
 import org.mongojack.internal.stream.JacksonDecoder;
 import org.mongojack.internal.stream.JacksonEncoder;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Optional;
-import java.util.function.Consumer;
-import java.util.function.Supplier;
 
 @SuppressWarnings("WeakerAccess")
 public class ElepyCodec<T> implements Codec<T>, CollectibleCodec<T>, OverridableUuidRepresentationCodec<T> {
 
+    private static final ClassValue<IdAccessor> ID_ACCESSORS = new ClassValue<>() {
+        @Override
+        protected IdAccessor computeValue(Class<?> type) {
+            return new IdAccessor(type);
+        }
+    };
+
     private final JacksonEncoder<T> encoder;
     private final JacksonDecoder<T> decoder;
 
@@ -45,7 +54,7 @@ public class ElepyCodec<T> implements Codec<T>, CollectibleCodec<T>, Overridable
     @Override
     public T generateIdIfAbsentFromDocument(final T t) {
         if (!documentHasId(t)) {
-            getIdWriter(t).accept(new BsonObjectId());
+            ID_ACCESSORS.get(t.getClass()).write(t, new BsonObjectId());
         }
         return t;
     }
@@ -58,7 +67,7 @@ public class ElepyCodec<T> implements Codec<T>, CollectibleCodec<T>, Overridable
 
     @Override
     public BsonValue getDocumentId(final T t) {
-        return getIdReader(t).get();
+        return ID_ACCESSORS.get(t.getClass()).read(t);
     }
 
     @Override
@@ -69,71 +78,78 @@ public class ElepyCodec<T> implements Codec<T>, CollectibleCodec<T>, Overridable
         );
     }
 
-    private Supplier<BsonValue> getIdReader(final T t) {
-        final Class<?> documentClass = t.getClass();
-        final Optional<Method> maybeIdGetter = getIdGetter(documentClass);
-        if (maybeIdGetter.isPresent()) {
-            Method getter = maybeIdGetter.get();
-            getter.setAccessible(true);
-            return () -> {
-                try {
-                    return constructIdValue(getter.invoke(t), maybeIdGetter);
-                } catch (Exception e) {
-                    e.printStackTrace();
-                    return BsonNull.VALUE;
-                }
-            };
-        } else {
+    /**
+     * The id getter and setter of a document class, looked up once per class.
+     */
+    private static class IdAccessor {
+        private static final MethodType READER_TYPE = MethodType.methodType(Object.class, Object.class);
+        private static final MethodType WRITER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+        private final Optional<? extends AnnotatedElement> element;
+        private final MethodHandle reader;
+        private final MethodHandle writer;
+        private final Class<?> writtenType;
+
+        private IdAccessor(Class<?> documentClass) {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            final Optional<Method> maybeIdGetter = getIdGetter(documentClass);
+            final Optional<Method> maybeSetter = getIdSetter(documentClass);
             final Optional<Field> maybeField = getIdField(documentClass);
-            if (maybeField.isPresent()) {
-                Field field = maybeField.get();
-                field.setAccessible(true);
-                return () -> {
-                    try {
-                        return constructIdValue(field.get(t), maybeField);
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                        return BsonNull.VALUE;
-                    }
-                };
-            } else {
-                return () -> BsonNull.VALUE;
+
+            try {
+                if (maybeIdGetter.isPresent()) {
+                    this.element = maybeIdGetter;
+                    this.reader = lookup.unreflect(accessible(maybeIdGetter.get())).asType(READER_TYPE);
+                } else if (maybeField.isPresent()) {
+                    this.element = maybeField;
+                    this.reader = lookup.unreflectGetter(accessible(maybeField.get())).asType(READER_TYPE);
+                } else {
+                    this.element = Optional.empty();
+                    this.reader = null;
+                }
+
+                if (maybeSetter.isPresent()) {
+                    this.writtenType = maybeSetter.get().getParameterTypes()[0];
+                    this.writer = lookup.unreflect(accessible(maybeSetter.get())).asType(WRITER_TYPE);
+                } else if (maybeField.isPresent()) {
+                    this.writtenType = maybeField.get().getType();
+                    this.writer = lookup.unreflectSetter(accessible(maybeField.get())).asType(WRITER_TYPE);
+                } else {
+                    this.writtenType = null;
+                    this.writer = null;
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Can't access the id of " + documentClass.getName(), e);
             }
         }
-    }
 
-    private Consumer<BsonObjectId> getIdWriter(final T t) {
-        final Class<?> documentClass = t.getClass();
-        final Optional<Method> maybeSetter = getIdSetter(documentClass);
-        if (maybeSetter.isPresent()) {
-            Method setter = maybeSetter.get();
-            setter.setAccessible(true);
-            return (value) -> {
-                try {
-                    if (value != null) {
-                        setter.invoke(t, extractIdValue(value, setter.getParameterTypes()[0]));
-                    }
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-            };
-        } else {
-            final Optional<Field> maybeField = getIdField(documentClass);
-            if (maybeField.isPresent()) {
-                Field field = maybeField.get();
-                field.setAccessible(true);
-                return (value) -> {
-                    try {
-                        field.set(t, extractIdValue(value, field.getType()));
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
-                };
-            } else {
-                return (value) -> {
-                };
+        private BsonValue read(Object document) {
+            if (reader == null) {
+                return BsonNull.VALUE;
+            }
+            try {
+                return constructIdValue((Object) reader.invokeExact(document), element);
+            } catch (Throwable e) {
+                e.printStackTrace();
+                return BsonNull.VALUE;
             }
         }
+
+        private void write(Object document, BsonObjectId value) {
+            if (writer == null || value == null) {
+                return;
+            }
+            try {
+                writer.invokeExact(document, extractIdValue(value, writtenType));
+            } catch (Throwable e) {
+                e.printStackTrace();
+            }
+        }
+
+        private static <A extends AccessibleObject> A accessible(A member) {
+            member.setAccessible(true);
+            return member;
+        }
     }
 
     private static Optional<Field> getIdField(final Class<?> documentClass) {
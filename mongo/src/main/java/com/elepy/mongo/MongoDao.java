@@ -1,37 +1,53 @@
 package com.elepy.mongo;
 
+import com.elepy.annotations.Unique;
 import com.elepy.dao.Crud;
 import com.elepy.dao.Expression;
 import com.elepy.dao.Query;
 import com.elepy.dao.SortOption;
+import com.elepy.exceptions.BulkWriteException;
 import com.elepy.exceptions.ElepyConfigException;
 import com.elepy.exceptions.ElepyException;
 import com.elepy.models.Property;
 import com.elepy.models.Schema;
 import com.elepy.mongo.annotations.MongoIndex;
+import com.elepy.utils.MapperUtils;
 import com.elepy.utils.ReflectionUtils;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mongodb.BasicDBObject;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
 import com.mongodb.MongoSocketException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Projections;
 import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.ReplaceOneModel;
 import com.mongodb.client.model.Sorts;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonNull;
+import org.bson.codecs.EncoderContext;
 import org.bson.conversions.Bson;
 import org.mongojack.internal.MongoJackModule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class MongoDao<T> implements Crud<T> {
 
@@ -41,6 +57,8 @@ public class MongoDao<T> implements Crud<T> {
 
     private static final Logger logger = LoggerFactory.getLogger("mongo");
 
+    private static final int STREAM_BATCH_SIZE = 500;
+
     private final QueryBuilder<T> queryBuilder;
     private final MongoDatabase database;
 
@@ -73,27 +91,59 @@ public class MongoDao<T> implements Crud<T> {
 
 
             schema.getProperties().stream().filter(Property::isUnique)
-                    .forEach(property -> mongoCollection.createIndex(new BasicDBObject(property.getName(), 1)));
+                    .forEach(property -> mongoCollection.createIndex(new BasicDBObject(property.getName(), 1),
+                            new IndexOptions().unique(hasUniqueIndex(property))));
         } catch (MongoSocketException e) {
             logger.error("Failed at creating index", e);
         }
 
     }
 
+    /**
+     * Unique indexes are opt-in with {@link Unique#indexed()}, existing collections may already hold duplicates.
+     */
+    private boolean hasUniqueIndex(Property property) {
+        return ReflectionUtils.findFieldWithName(getType(), property.getName())
+                .map(field -> field.getAnnotation(Unique.class))
+                .map(Unique::indexed)
+                .orElse(false);
+    }
+
     @Override
     public List<T> find(Query query) {
+        return findIterable(query).into(new ArrayList<>());
+    }
+
+    @Override
+    public Stream<T> stream(Query query) {
+        final MongoCursor<T> cursor = findIterable(query).batchSize(STREAM_BATCH_SIZE).iterator();
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(cursor::close);
+    }
+
+    private FindIterable<T> findIterable(Query query) {
 
         query.purge();
 
         final List<Bson> sortSpec = query.getSortingSpecification().getMap().entrySet().stream().map(entry -> {
+            final String property = schema.getIdProperty().equals(entry.getKey()) ? "_id" : entry.getKey();
             if (entry.getValue().equals(SortOption.ASCENDING)) {
-                return Sorts.ascending(entry.getKey());
+                return Sorts.ascending(property);
             } else {
-                return Sorts.descending(entry.getKey());
+                return Sorts.descending(property);
             }
         }).collect(Collectors.toList());
         final var expression = new QueryBuilder<>(schema).expression(query.getExpression());
-        return mongoCollection.find(expression).limit(query.getLimit()).skip(query.getSkip()).sort(Sorts.orderBy(sortSpec)).into(new ArrayList<>());
+        final FindIterable<T> findIterable = mongoCollection.find(expression).limit(query.getLimit()).skip(query.getSkip()).sort(Sorts.orderBy(sortSpec));
+
+        if (query.getFields().isEmpty()) {
+            return findIterable;
+        }
+        // _id is always included by Mongo
+        return findIterable.projection(Projections.include(query.getFields().stream()
+                .map(property -> schema.getProperty(property).getName())
+                .collect(Collectors.toList())));
     }
 
     @Override
@@ -101,25 +151,121 @@ public class MongoDao<T> implements Crud<T> {
         return Optional.ofNullable(mongoCollection.find(Filters.eq("_id", id)).first());
     }
 
+    @Override
+    public List<T> getByIds(Iterable<? extends Serializable> ids) {
+        final List<Serializable> idList = new ArrayList<>();
+        ids.forEach(idList::add);
+
+        if (idList.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        final Map<String, T> found = new HashMap<>();
+        for (T item : mongoCollection.find(Filters.in("_id", idList))) {
+            found.put(getId(item).toString(), item);
+        }
+
+        return idList.stream().map(id -> found.get(id.toString())).filter(Objects::nonNull).collect(Collectors.toList());
+    }
 
     @Override
     public void update(T item) {
         mongoCollection.replaceOne(Filters.eq("_id", getId(item)), item);
     }
 
+    @Override
+    public void update(Iterable<T> items) {
+        final List<T> itemList = new ArrayList<>();
+        items.forEach(itemList::add);
+
+        if (itemList.isEmpty()) {
+            return;
+        }
+
+        final List<ReplaceOneModel<T>> replacements = itemList.stream()
+                .map(item -> new ReplaceOneModel<>(idQuery(item), item))
+                .collect(Collectors.toList());
+        try {
+            mongoCollection.bulkWrite(replacements, new BulkWriteOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            final Map<Serializable, String> failures = new LinkedHashMap<>();
+            for (BulkWriteError error : e.getWriteErrors()) {
+                failures.put(getId(itemList.get(error.getIndex())), error.getMessage());
+            }
+            throw new BulkWriteException(String.format("Failed to update %d of %d items", failures.size(), itemList.size()), failures, e);
+        }
+    }
+
+    @Override
+    public long patch(Serializable id, Map<String, Object> changes) {
+        return patch(idQuery(id), changes);
+    }
+
+    @Override
+    public long patch(Expression expression, Map<String, Object> changes) {
+        return patch(queryBuilder.expression(expression), changes);
+    }
+
+    private long patch(Bson filter, Map<String, Object> changes) {
+        final Map<String, Object> patchable = MapperUtils.patchableChanges(changes, getType());
+
+        if (patchable.isEmpty()) {
+            return mongoCollection.countDocuments(filter);
+        }
+
+        // Encode the changes like a full write would, so dates, enums and numbers are stored the same way
+        final BsonDocument document = new BsonDocument();
+        mongoCollection.getCodecRegistry().get(getType())
+                .encode(new BsonDocumentWriter(document), objectMapper.convertValue(patchable, getType()), EncoderContext.builder().build());
+
+        // Build the update from BSON values directly, they don't have to pass through the Jackson codecs again
+        final BsonDocument set = new BsonDocument();
+        patchable.keySet().forEach(property -> set.put(property, document.getOrDefault(property, BsonNull.VALUE)));
+
+        return mongoCollection.updateMany(filter, new BsonDocument("$set", set)).getMatchedCount();
+    }
+
     @Override
     public void create(T item) {
 
         idQuery(item);
-        mongoCollection.insertOne(item);
+        try {
+            mongoCollection.insertOne(item);
+        } catch (MongoWriteException e) {
+            if (e.getError().getCategory() == ErrorCategory.DUPLICATE_KEY) {
+                throw duplicateException(e);
+            }
+            throw e;
+        }
     }
 
     @Override
     public void create(T... items) {
+        create(Arrays.asList(items));
+    }
+
+    @Override
+    public void create(Iterable<T> items) {
+        final List<T> itemList = new ArrayList<>();
         for (T item : items) {
             idQuery(item);
+            itemList.add(item);
+        }
+        if (itemList.isEmpty()) {
+            return;
         }
-        mongoCollection.insertMany(List.of(items));
+        try {
+            mongoCollection.insertMany(itemList);
+        } catch (MongoBulkWriteException e) {
+            if (e.getWriteErrors().stream().anyMatch(error -> ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY)) {
+                throw duplicateException(e);
+            }
+            throw e;
+        }
+    }
+
+    private static ElepyException duplicateException(MongoException e) {
+        return new ElepyException("An item with the same unique values already exists in the system!", 409, e);
     }
 
     private Bson idQuery(T item) {
@@ -153,6 +299,16 @@ public class MongoDao<T> implements Crud<T> {
         mongoCollection.deleteOne(Filters.eq("_id", id));
     }
 
+    @Override
+    public void delete(Iterable<Serializable> ids) {
+        final List<Serializable> idList = new ArrayList<>();
+        ids.forEach(idList::add);
+
+        if (!idList.isEmpty()) {
+            mongoCollection.deleteMany(Filters.in("_id", idList));
+        }
+    }
+
     @Override
     public void delete(Expression expression) {
         mongoCollection.deleteMany(queryBuilder.expression(expression));
@@ -161,6 +317,11 @@ public class MongoDao<T> implements Crud<T> {
     @Override
     public long count(Query query) {
         query.purge();
+
+        // Unfiltered counts are read from the collection metadata instead of scanning it
+        if (query.getExpression().canBeIgnored()) {
+            return mongoCollection.estimatedDocumentCount();
+        }
         return mongoCollection.countDocuments(queryBuilder.expression(query.getExpression()));
     }
 
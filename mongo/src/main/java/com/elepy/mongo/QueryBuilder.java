@@ -2,19 +2,18 @@ package com.elepy.mongo;
 
 import com.elepy.dao.BooleanGroup;
 import com.elepy.dao.Expression;
+import com.elepy.dao.ExpressionOptimizer;
 import com.elepy.dao.Filter;
+import com.elepy.dao.FilterType;
+import com.elepy.dao.FilterableField;
 import com.elepy.dao.SearchQuery;
 import com.elepy.exceptions.ElepyException;
-import com.elepy.models.Property;
 import com.elepy.models.Schema;
-import com.elepy.utils.MapperUtils;
-import com.elepy.utils.ReflectionUtils;
 import com.mongodb.client.model.Filters;
+import org.bson.BsonDocument;
 import org.bson.conversions.Bson;
 
 import java.io.Serializable;
-import java.lang.reflect.Field;
-import java.util.List;
 import java.util.stream.Collectors;
 
 import static java.util.regex.Pattern.quote;
@@ -30,6 +29,10 @@ public class QueryBuilder<T> {
     }
 
     public Bson expression(Expression expression) {
+        return translate(ExpressionOptimizer.optimize(expression, schema.getFilterPlan()));
+    }
+
+    private Bson translate(Expression expression) {
         if (expression instanceof Filter) {
             return filter((Filter) expression);
         } else if (expression instanceof SearchQuery) {
@@ -40,7 +43,7 @@ public class QueryBuilder<T> {
     }
 
     private Bson booleanGroup(BooleanGroup expression) {
-        final var groupExpressions = expression.getExpressions().stream().map(this::expression).collect(Collectors.toList());
+        final var groupExpressions = expression.getExpressions().stream().map(this::translate).collect(Collectors.toList());
 
         if (expression.getOperator().equals(BooleanGroup.BooleanOperator.AND)) {
             return Filters.and(groupExpressions);
@@ -52,6 +55,10 @@ public class QueryBuilder<T> {
 
     private Bson search(SearchQuery expression) {
 
+        // An empty search matches everything, there's no need for a regex on every searchable property
+        if (expression.canBeIgnored()) {
+            return new BsonDocument();
+        }
         if (hasTextIndex) {
             return textIndexSearch(expression);
         } else {
@@ -66,22 +73,20 @@ public class QueryBuilder<T> {
 
     private Bson orSearch(SearchQuery expression) {
         return Filters.or(
-                getSearchableProperties().stream()
-                        .map(property -> Filters.regex(getProp(property.getName()), ".*" + quote(expression.getTerm()) + ".*", "i"))
+                schema.getFilterPlan().getSearchableFields().stream()
+                        .map(field -> Filters.regex(getProp(field), ".*" + quote(expression.getTerm()) + ".*", "i"))
                         .collect(Collectors.toList())
         );
     }
 
-    private static Serializable value(Field field, Property property, String value) {
-        return MapperUtils.toValueFromString(field, property.getType(), value);
-    }
-
     private Bson filter(Filter filter) {
-        final Property property = schema.getProperty(filter.getPropertyName());
+        final FilterableField field = schema.getFilterPlan().get(filter.getPropertyName());
+        final var propertyName = getProp(field);
 
-        final Field field = ReflectionUtils.getPropertyField(schema.getJavaClass(), property.getName());
-        final var propertyName = getProp(filter.getPropertyName());
-        final Serializable value = value(field, property, filter.getFilterValue().toString());
+        if (filter.getFilterType() == FilterType.IN) {
+            return Filters.in(propertyName, field.values(filter));
+        }
+        final Serializable value = field.value(filter.getFilterValue());
 
         switch (filter.getFilterType()) {
             case EQUALS:
@@ -105,20 +110,10 @@ public class QueryBuilder<T> {
         }
     }
 
-    private String getProp(String prop) {
-        final var property = schema.getProperty(prop);
-        if (isId(property)) {
+    private String getProp(FilterableField field) {
+        if (field.isId()) {
             return "_id";
         }
-        return property.getName();
-    }
-
-    private boolean isId(Property prop) {
-        return schema.getIdProperty().equals(prop.getName());
-    }
-
-    private List<Property> getSearchableProperties() {
-        return schema
-                .getProperties().stream().filter(Property::isSearchable).collect(Collectors.toList());
+        return field.getName();
     }
 } 
@@ -1,6 +1,10 @@
 package com.elepy.mongo.fast;
 
+import com.elepy.dao.CachingCrud;
+import com.elepy.dao.CountCachingCrud;
+import com.elepy.dao.Query;
 import com.elepy.di.DefaultElepyContext;
+import com.elepy.exceptions.ElepyException;
 import com.elepy.mongo.CustomJacksonModule;
 import com.elepy.mongo.ElepyCodecRegistry;
 import com.elepy.mongo.MongoCrudFactory;
@@ -15,16 +19,24 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.mongojack.internal.MongoJackModule;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
+import static com.elepy.dao.Filters.and;
 import static com.elepy.dao.Filters.eq;
+import static com.elepy.dao.Filters.or;
 import static com.elepy.dao.Filters.search;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class DefaultMongoDaoTest extends BaseFongo {
@@ -141,6 +153,102 @@ public class DefaultMongoDaoTest extends BaseFongo {
                 .hasSize(4);
     }
 
+    @Test
+    void testUnfilteredCount() {
+        final Resource resource = validObject();
+        final Resource resource2 = validObject();
+
+        resource2.setUnique("Unique2");
+        defaultMongoDao.create(Arrays.asList(resource, resource2));
+
+        assertThat(defaultMongoDao.count()).isEqualTo(2);
+        assertThat(defaultMongoDao.count(new Query(and(search(""), or())))).isEqualTo(2);
+        assertThat(defaultMongoDao.count(new Query(eq("unique", "Unique2")))).isEqualTo(1);
+    }
+
+    @Test
+    void testCachedCounts_areInvalidatedByWrites() {
+        final var cachingCrud = new CountCachingCrud<>(defaultMongoDao, 60, 100);
+        final Resource resource = validObject();
+        final Resource resource2 = validObject();
+
+        resource2.setUnique("Unique2");
+        cachingCrud.create(resource);
+
+        assertThat(cachingCrud.count(new Query(eq("textField", "textfield")))).isEqualTo(1);
+
+        // A write that bypasses the decorator isn't seen until the cache is invalidated
+        defaultMongoDao.create(resource2);
+        assertThat(cachingCrud.count(new Query(eq("textField", "textfield")))).isEqualTo(1);
+        assertThat(cachingCrud.getStats().hitCount()).isEqualTo(1);
+
+        cachingCrud.deleteById(resource.getId());
+        assertThat(cachingCrud.count(new Query(eq("textField", "textfield")))).isEqualTo(1);
+        assertThat(cachingCrud.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testCachedRecords_areInvalidatedByWrites() {
+        final var cachingCrud = new CachingCrud<>(defaultMongoDao, 60, 100);
+        final Resource resource = validObject();
+        final Resource resource2 = validObject();
+
+        resource2.setUnique("Unique2");
+        cachingCrud.create(Arrays.asList(resource, resource2));
+
+        assertThat(cachingCrud.getById(resource.getId())).isPresent();
+        cachingCrud.getById(resource.getId()).orElseThrow().setTextField("changedCopy");
+
+        assertThat(cachingCrud.getById(resource.getId()).orElseThrow().getTextField()).isEqualTo("textfield");
+        assertThat(cachingCrud.getByIds(List.of(resource2.getId(), resource.getId())).stream().map(Resource::getId))
+                .containsExactly(resource2.getId(), resource.getId());
+        assertThat(cachingCrud.getStats().hitCount()).isEqualTo(3);
+
+        resource.setTextField("updated");
+        cachingCrud.update(resource);
+        assertThat(cachingCrud.getById(resource.getId()).orElseThrow().getTextField()).isEqualTo("updated");
+
+        cachingCrud.deleteById(resource.getId());
+        assertThat(cachingCrud.getById(resource.getId())).isEmpty();
+    }
+
+    @Test
+    void testIndexedUniqueFields_rejectConcurrentDuplicates() throws Exception {
+        final var indexedDao = new MongoDao<>(getDb(), "indexed-resources", ModelUtils.createDeepSchema(IndexedResource.class));
+        final var executor = Executors.newFixedThreadPool(2);
+        final var start = new CountDownLatch(1);
+
+        // Both creates pass any check that runs before writing, only the index can stop the second one
+        final List<Future<?>> creates = List.of(
+                executor.submit(() -> awaitAndCreate(start, indexedDao, new IndexedResource(1, "duplicate"))),
+                executor.submit(() -> awaitAndCreate(start, indexedDao, new IndexedResource(2, "duplicate")))
+        );
+        start.countDown();
+
+        final List<Throwable> failures = new ArrayList<>();
+        for (Future<?> create : creates) {
+            try {
+                create.get();
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            }
+        }
+        executor.shutdown();
+
+        assertThat(failures).hasSize(1);
+        assertThat(failures.get(0)).isInstanceOfSatisfying(ElepyException.class, e -> assertThat(e.getStatus()).isEqualTo(409));
+        assertThat(indexedDao.count()).isEqualTo(1);
+
+        assertThatThrownBy(() -> indexedDao.create(List.of(new IndexedResource(3, "other"), new IndexedResource(4, "other"))))
+                .isInstanceOfSatisfying(ElepyException.class, e -> assertThat(e.getStatus()).isEqualTo(409));
+    }
+
+    private static Void awaitAndCreate(CountDownLatch start, MongoDao<IndexedResource> dao, IndexedResource item) throws InterruptedException {
+        start.await();
+        dao.create(item);
+        return null;
+    }
+
     private long count() {
         return collection.count();
     }
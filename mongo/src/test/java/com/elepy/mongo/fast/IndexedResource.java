@@ -0,0 +1,39 @@
+package com.elepy.mongo.fast;
+
+import com.elepy.annotations.Identifier;
+import com.elepy.annotations.Model;
+import com.elepy.annotations.Unique;
+
+@Model(name = "Indexed Resource", path = "/indexed-resources")
+public class IndexedResource {
+
+    @Identifier
+    private int id;
+
+    @Unique(indexed = true)
+    private String unique;
+
+    public IndexedResource() {
+    }
+
+    public IndexedResource(int id, String unique) {
+        this.id = id;
+        this.unique = unique;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getUnique() {
+        return unique;
+    }
+
+    public void setUnique(String unique) {
+        this.unique = unique;
+    }
+}
@@ -2,7 +2,7 @@ package com.elepy.sparkjava;
 
 import com.elepy.http.HttpContext;
 import com.elepy.http.Request;
-import com.elepy.http.Response;
+import com.elepy.http.ResponseCompression;
 
 public class SparkContext implements HttpContext {
     private final SparkRequest request;
@@ -17,6 +17,10 @@ public class SparkContext implements HttpContext {
         this(new SparkRequest(request), new SparkResponse(request, response));
     }
 
+    public SparkContext(spark.Request request, spark.Response response, ResponseCompression compression) {
+        this(new SparkRequest(request), new SparkResponse(request, response, compression));
+    }
+
 
     @Override
     public Request request() {
@@ -24,7 +28,7 @@ public class SparkContext implements HttpContext {
     }
 
     @Override
-    public Response response() {
+    public SparkResponse response() {
         return response;
     }
 }
@@ -10,6 +10,7 @@ import javax.servlet.MultipartConfigElement;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -102,6 +103,15 @@ public class SparkRequest implements Request {
         return request.bodyAsBytes();
     }
 
+    @Override
+    public InputStream bodyAsStream() {
+        try {
+            return request.raw().getInputStream();
+        } catch (IOException e) {
+            throw new ElepyException("Can't read the request body", 500, e);
+        }
+    }
+
     public int contentLength() {
         return request.contentLength();
     }
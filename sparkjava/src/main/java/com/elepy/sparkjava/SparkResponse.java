@@ -1,21 +1,27 @@
 package com.elepy.sparkjava;
 
 import com.elepy.http.Response;
+import com.elepy.http.ResponseCompression;
 import spark.Request;
 
-import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.Optional;
-import java.util.zip.GZIPOutputStream;
+import java.nio.charset.StandardCharsets;
 
 public class SparkResponse implements Response {
     private final Request request;
     private final spark.Response response;
+    private final ResponseCompression compression;
+    private OutputStream outputStream;
 
     public SparkResponse(Request request, spark.Response response) {
+        this(request, response, new ResponseCompression().enabled(false));
+    }
+
+    public SparkResponse(Request request, spark.Response response, ResponseCompression compression) {
         this.request = request;
         this.response = response;
+        this.compression = compression;
     }
 
     @Override
@@ -45,30 +51,44 @@ public class SparkResponse implements Response {
 
     @Override
     public void result(byte[] bytes) {
-        HttpServletResponse raw = response.raw();
-
-        try {
-            OutputStream outputStream = raw.getOutputStream();
-
-
-            if (Optional.ofNullable(request.headers("Accept-Encoding")).orElse("").contains("gzip") &&
-                    Optional.ofNullable(raw.getHeader("Content-Encoding")).orElse("").contains("gzip")) {
-                outputStream = new GZIPOutputStream(outputStream, true);
-            }
+        try (OutputStream outputStream = outputStream()) {
             outputStream.write(bytes);
-            outputStream.flush();
-            outputStream.close();
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Writes the body through {@link #outputStream()}, so that it gets compressed like other responses.
+     * Spark doesn't write the body of a response that has been committed.
+     */
+    void writeResult() {
+        if (response.raw().isCommitted() || response.body() == null) {
+            return;
+        }
+        if (type() == null) {
+            type("text/html; charset=utf-8");
+        }
+        result(response.body().getBytes(StandardCharsets.UTF_8));
+    }
 
     @Override
     public String result() {
         return response.body();
     }
 
+    @Override
+    public OutputStream outputStream() {
+        if (outputStream == null) {
+            try {
+                outputStream = compression.compress(request.headers("Accept-Encoding"), this, response.raw().getOutputStream());
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return outputStream;
+    }
+
     public void redirect(String location) {
         response.redirect(location);
     }
@@ -81,6 +101,11 @@ public class SparkResponse implements Response {
         response.header(header, value);
     }
 
+    @Override
+    public String header(String name) {
+        return response.raw().getHeader(name);
+    }
+
     public void cookie(String name, String value) {
         response.cookie(name, value);
     }
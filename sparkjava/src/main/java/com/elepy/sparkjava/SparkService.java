@@ -19,6 +19,7 @@ public class SparkService implements HttpService {
     private Map<RouteKey, Route> routes;
     private int counter;
     private boolean ignitedOnce = false;
+    private ResponseCompression compression = new ResponseCompression();
 
 
     public SparkService() {
@@ -36,6 +37,11 @@ public class SparkService implements HttpService {
         return http.port();
     }
 
+    @Override
+    public void compression(ResponseCompression compression) {
+        this.compression = compression;
+    }
+
     public void notFound(spark.Route route) {
         http.notFound(route);
     }
@@ -115,11 +121,12 @@ public class SparkService implements HttpService {
 
         http.addRoute(HttpMethod.get(extraRoute.getMethod().name().toLowerCase()), RouteImpl.create(extraRoute.getPath(), extraRoute.getAcceptType(), (request, response) -> {
 
-            SparkContext sparkContext = new SparkContext(request, response);
+            SparkContext sparkContext = new SparkContext(request, response, compression);
             if (!extraRoute.getPermissions().isEmpty()) {
                 sparkContext.requirePermissions(extraRoute.getPermissions());
             }
             extraRoute.getHttpContextHandler().handle(sparkContext);
+            sparkContext.response().writeResult();
 
             return response.body();
         }));
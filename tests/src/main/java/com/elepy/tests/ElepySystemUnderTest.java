@@ -69,6 +69,11 @@ public class ElepySystemUnderTest extends Elepy implements HttpService {
         return port;
     }
 
+    @Override
+    public void compression(ResponseCompression compression) {
+        this.http().compression(compression);
+    }
+
     @Override
     public void addRoute(Route route) {
         this.http().addRoute(route);
@@ -3,6 +3,7 @@ package com.elepy.tests.basic;
 import com.elepy.auth.Permissions;
 import com.elepy.auth.User;
 import com.elepy.dao.Crud;
+import com.elepy.dao.Filters;
 import com.elepy.dao.SortOption;
 import com.elepy.exceptions.Message;
 import com.elepy.tests.CustomUser;
@@ -10,6 +11,7 @@ import com.elepy.tests.ElepyConfigHelper;
 import com.elepy.tests.ElepySystemUnderTest;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mashape.unirest.http.HttpResponse;
 import com.mashape.unirest.http.Unirest;
@@ -21,10 +23,13 @@ import org.mindrot.jbcrypt.BCrypt;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.elepy.dao.Filters.search;
 import static com.elepy.dao.Queries.create;
@@ -386,6 +391,62 @@ public abstract class BasicFunctionalityTest implements ElepyConfigHelper {
 
     }
 
+    @Test
+    void can_RevalidateItems_withETags() throws UnirestException {
+        final Resource resource = validObject();
+        resourceCrud.create(resource);
+
+        final HttpResponse<String> getRequest = Unirest.get(elepy + "/resources/" + resource.getId()).asString();
+        final String etag = getRequest.getHeaders().getFirst("ETag");
+
+        final HttpResponse<String> unchanged = Unirest.get(elepy + "/resources/" + resource.getId())
+                .header("If-None-Match", etag)
+                .asString();
+
+        resource.setTextField("changed");
+        resourceCrud.update(resource);
+        final HttpResponse<String> changed = Unirest.get(elepy + "/resources/" + resource.getId())
+                .header("If-None-Match", etag)
+                .asString();
+
+        assertThat(getRequest.getStatus()).as(getRequest.getBody()).isEqualTo(200);
+        assertThat(etag).isNotBlank();
+        assertThat(unchanged.getStatus()).isEqualTo(304);
+        assertThat(changed.getStatus()).isEqualTo(200);
+        assertThat(changed.getHeaders().getFirst("ETag")).isNotEqualTo(etag);
+    }
+
+    @Test
+    void can_RevalidateItems_afterPatchingThem() throws UnirestException {
+        final Resource resource = validObject();
+        resourceCrud.create(resource);
+
+        final String etag = Unirest.get(elepy + "/resources/" + resource.getId()).asString().getHeaders().getFirst("ETag");
+        final HttpResponse<String> patch = Unirest.patch(elepy + "/resources/" + resource.getId())
+                .body("{\"textField\": \"patchedForETag\"}").asString();
+        final HttpResponse<String> changed = Unirest.get(elepy + "/resources/" + resource.getId())
+                .header("If-None-Match", etag)
+                .asString();
+
+        assertThat(patch.getStatus()).as(patch.getBody()).isEqualTo(200);
+        assertThat(changed.getStatus()).isEqualTo(200);
+        assertThat(changed.getBody()).contains("patchedForETag");
+        assertThat(changed.getHeaders().getFirst("ETag")).isNotEqualTo(etag);
+    }
+
+    @Test
+    void can_RevalidateFoundItems_withETags() throws UnirestException {
+        resourceCrud.create(validObject());
+
+        final HttpResponse<String> getRequest = Unirest.get(elepy + "/resources").asString();
+        final HttpResponse<String> unchanged = Unirest.get(elepy + "/resources")
+                .header("If-None-Match", getRequest.getHeaders().getFirst("ETag"))
+                .asString();
+
+        assertThat(getRequest.getStatus()).as(getRequest.getBody()).isEqualTo(200);
+        assertThat(unchanged.getStatus()).isEqualTo(304);
+    }
+
     @Test
     public void can_CreateItem() throws UnirestException, JsonProcessingException {
 
@@ -421,6 +482,29 @@ public abstract class BasicFunctionalityTest implements ElepyConfigHelper {
         assertThat(resourceCrud.count()).isEqualTo(count);
     }
 
+    @Test
+    public void doesNot_CreateMultipleItems_when_OneConflictsWithAStoredItem() throws UnirestException, JsonProcessingException {
+
+        final Resource existing = validObject();
+        existing.setUniqueField("uniqueStoredMultiCreate");
+        resourceCrud.create(existing);
+
+        final long count = resourceCrud.count();
+
+        final Resource resource = validObject();
+        resource.setUniqueField("uniqueStoredMultiCreate1");
+
+        final Resource resource1 = validObject();
+        resource1.setUniqueField("uniqueStoredMultiCreate");
+
+        final String s = elepy.objectMapper().writeValueAsString(new Resource[]{resource, resource1});
+
+        final HttpResponse<String> postRequest = Unirest.post(elepy + "/resources").body(s).asString();
+
+        assertThat(postRequest.getStatus()).as(postRequest.getBody()).isEqualTo(400);
+        assertThat(resourceCrud.count()).isEqualTo(count);
+    }
+
     @Test
     public void can_CreateMultipleItems_inOneRequest() throws UnirestException, JsonProcessingException {
 
@@ -441,6 +525,98 @@ public abstract class BasicFunctionalityTest implements ElepyConfigHelper {
         assertThat(resourceCrud.count()).isEqualTo(count + 2);
     }
 
+    @Test
+    void can_ImportNdjson_and_ReportFailedRows() throws UnirestException, IOException {
+        final long count = resourceCrud.count();
+
+        final Resource valid = validObject();
+        valid.setUniqueField("uniqueImport");
+
+        final Resource invalid = validObject();
+        invalid.setUniqueField("uniqueImport1");
+        invalid.setNumberMin20(BigDecimal.valueOf(5));
+
+        final Resource duplicate = validObject();
+        duplicate.setUniqueField("uniqueImport");
+
+        final String body = String.join("\n",
+                elepy.objectMapper().writeValueAsString(valid),
+                elepy.objectMapper().writeValueAsString(invalid),
+                "{not json",
+                elepy.objectMapper().writeValueAsString(duplicate));
+
+        final HttpResponse<String> postRequest = Unirest.post(elepy + "/resources/import")
+                .header("Content-Type", "application/x-ndjson")
+                .body(body)
+                .asString();
+
+        final List<JsonNode> lines = ndjson(postRequest.getBody());
+        final JsonNode done = lines.get(lines.size() - 1);
+
+        assertThat(postRequest.getStatus()).as(postRequest.getBody()).isEqualTo(200);
+        assertThat(postRequest.getHeaders().getFirst("Content-Type")).startsWith("application/x-ndjson");
+        assertThat(lines)
+                .filteredOn(line -> line.get("type").asText().equals("error"))
+                .extracting(line -> line.get("row").asLong())
+                .containsExactlyInAnyOrder(2L, 3L, 4L);
+        assertThat(lines).anyMatch(line -> line.get("type").asText().equals("progress"));
+        assertThat(done.get("type").asText()).isEqualTo("done");
+        assertThat(done.get("createdRecords").asLong()).isEqualTo(1);
+        assertThat(done.get("failedRecords").asLong()).isEqualTo(3);
+        assertThat(resourceCrud.count()).isEqualTo(count + 1);
+    }
+
+    @Test
+    void can_ImportCsv() throws UnirestException, IOException {
+        final long count = resourceCrud.count();
+
+        final String body = "uniqueField,requiredField,minLen20,numberMin20,numberMax40,numberMin10Max50,textField\n" +
+                "uniqueCsvImport,required,My name is ryan and this is a string  with more than 20 chars,20,40,15,\"text, with a comma\"\r\n" +
+                "uniqueCsvImport1,required,My name is ryan and this is a string  with more than 20 chars,25,40,15,text\n";
+
+        final HttpResponse<String> postRequest = Unirest.post(elepy + "/resources/import?format=csv")
+                .body(body)
+                .asString();
+
+        final List<JsonNode> lines = ndjson(postRequest.getBody());
+
+        assertThat(postRequest.getStatus()).as(postRequest.getBody()).isEqualTo(200);
+        assertThat(lines.get(lines.size() - 1).get("createdRecords").asLong()).as(postRequest.getBody()).isEqualTo(2);
+        assertThat(resourceCrud.count()).isEqualTo(count + 2);
+        assertThat(resourceCrud.find(create(Filters.eq("uniqueField", "uniqueCsvImport"))))
+                .extracting(Resource::getTextField)
+                .containsExactly("text, with a comma");
+    }
+
+    @Test
+    void can_ExportNdjson_withFilters() throws UnirestException, IOException {
+        final Resource exported = validObject();
+        exported.setTextField("exported");
+        resourceCrud.create(exported);
+        resourceCrud.create(validObject());
+
+        final HttpResponse<String> getRequest = Unirest.get(elepy + "/resources/export?textField_equals=exported").asString();
+
+        final String[] lines = getRequest.getBody().split("\n");
+
+        assertThat(getRequest.getStatus()).as(getRequest.getBody()).isEqualTo(200);
+        assertThat(getRequest.getHeaders().getFirst("Content-Type")).startsWith("application/x-ndjson");
+        assertThat(lines).hasSize(1);
+        assertThat(elepy.objectMapper().readValue(lines[0], Resource.class).getId()).isEqualTo(exported.getId());
+    }
+
+    @Test
+    void can_ExportCsv_withTheRequestedColumns() throws UnirestException {
+        final Resource exported = validObject();
+        exported.setTextField("exported, with a comma");
+        resourceCrud.create(exported);
+
+        final HttpResponse<String> getRequest = Unirest.get(elepy + "/resources/export?format=csv&fields=id,textField&id_equals=" + exported.getId()).asString();
+
+        assertThat(getRequest.getStatus()).as(getRequest.getBody()).isEqualTo(200);
+        assertThat(getRequest.getBody()).isEqualTo("id,textField\r\n" + exported.getId() + ",\"exported, with a comma\"\r\n");
+    }
+
     @Test
     void can_DeleteItem() throws UnirestException {
 
@@ -486,6 +662,73 @@ public abstract class BasicFunctionalityTest implements ElepyConfigHelper {
         assertThat(patch.getStatus()).as(patch.getBody()).isEqualTo(200);
     }
 
+    @Test
+    void can_PatchItem_withoutReplacingIt() throws UnirestException {
+        final Resource resource = validObject();
+        resource.setMARKDOWN("unchanged");
+        resourceCrud.create(resource);
+
+        final HttpResponse<String> patch = Unirest.patch(elepy + "/resources/" + resource.getId())
+                .body("{\"textField\": \"patched\", \"numberMin10Max50\": 20}").asString();
+        final Resource patched = resourceCrud.getById(resource.getId()).orElseThrow();
+
+        assertThat(patch.getStatus()).as(patch.getBody()).isEqualTo(200);
+        assertThat(patched.getTextField()).isEqualTo("patched");
+        assertThat(patched.getNumberMin10Max50()).isEqualByComparingTo(BigDecimal.valueOf(20));
+        assertThat(patched.getMARKDOWN()).isEqualTo("unchanged");
+    }
+
+    @Test
+    void cant_PatchItem_withInvalidChanges() throws UnirestException {
+        final Resource resource = validObject();
+        resourceCrud.create(resource);
+
+        final HttpResponse<String> invalidPatch = Unirest.patch(elepy + "/resources/" + resource.getId())
+                .body("{\"numberMin10Max50\": 60}").asString();
+        final HttpResponse<String> missingPatch = Unirest.patch(elepy + "/resources/404404")
+                .body("{\"textField\": \"patched\"}").asString();
+
+        assertThat(invalidPatch.getStatus()).as(invalidPatch.getBody()).isEqualTo(400);
+        assertThat(missingPatch.getStatus()).as(missingPatch.getBody()).isEqualTo(404);
+        assertThat(resourceCrud.getById(resource.getId()).orElseThrow().getNumberMin10Max50()).isEqualByComparingTo(BigDecimal.valueOf(15));
+    }
+
+    @Test
+    void can_PatchItems_byExpression() {
+        final Resource resource1 = validObject();
+        final Resource resource2 = validObject();
+        resource1.setTextField("toPatch");
+        resource2.setTextField("toPatch");
+        resourceCrud.create(resource1, resource2);
+
+        final long matched = resourceCrud.patch(Filters.eq("textField", "toPatch"), Map.of("searchableField", "patched"));
+
+        assertThat(matched).isEqualTo(2);
+        assertThat(resourceCrud.getByIds(List.of(resource1.getId(), resource2.getId())).stream().map(Resource::getSearchableField))
+                .containsExactly("patched", "patched");
+    }
+
+    @Test
+    void can_FindItems_withOnlyTheRequestedFields() throws IOException, UnirestException {
+        final Resource resource = validObject();
+        resource.setTextField("projected");
+        resourceCrud.create(resource);
+
+        final HttpResponse<String> getRequest = Unirest.get(elepy + "/resources?textField_equals=projected&fields=textField,searchableField").asString();
+        final HttpResponse<String> unknownField = Unirest.get(elepy + "/resources?fields=textField,unknownField").asString();
+
+        final List<Resource> results = elepy.objectMapper().readValue(getRequest.getBody(), new TypeReference<List<Resource>>() {
+        });
+
+        assertThat(getRequest.getStatus()).as(getRequest.getBody()).isEqualTo(200);
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).getId()).isEqualTo(resource.getId());
+        assertThat(results.get(0).getTextField()).isEqualTo("projected");
+        assertThat(results.get(0).getSearchableField()).isEqualTo("searchable");
+        assertThat(results.get(0).getTextArea()).isNull();
+        assertThat(unknownField.getStatus()).as(unknownField.getBody()).isEqualTo(400);
+    }
+
     @Test
     void can_SortDescending() {
         final Resource resource1 = validObject();
@@ -532,6 +775,122 @@ public abstract class BasicFunctionalityTest implements ElepyConfigHelper {
 
     }
 
+    @Test
+    void can_StreamItems_inSortedOrder() {
+        final Resource resource1 = validObject();
+        final Resource resource2 = validObject();
+        final Resource resource3 = validObject();
+
+        resource1.setTextField("resource1");
+        resource2.setTextField("resource2");
+        resource3.setTextField("resource3");
+
+        resourceCrud.create(resource3, resource1, resource2);
+
+        try (Stream<Resource> stream = resourceCrud.stream(create(search(""))
+                .skip(1)
+                .sort("textField", SortOption.ASCENDING))) {
+
+            assertThat(stream.map(Resource::getTextField))
+                    .containsExactly("resource2", "resource3");
+        }
+    }
+
+    @Test
+    void can_GetItemsByIds_inRequestedOrder() {
+        final Resource resource1 = validObject();
+        final Resource resource2 = validObject();
+        final Resource resource3 = validObject();
+
+        resourceCrud.create(resource1, resource2, resource3);
+
+        final List<Resource> found = resourceCrud.getByIds(List.of(resource3.getId(), resource1.getId(), 404_404, resource2.getId()));
+
+        assertThat(found.stream().map(Resource::getId))
+                .containsExactly(resource3.getId(), resource1.getId(), resource2.getId());
+    }
+
+    @Test
+    void can_FindItems_withEqualitiesAndRangesOnTheSameProperty() {
+        final Resource resource1 = validObject();
+        final Resource resource2 = validObject();
+        final Resource resource3 = validObject();
+
+        resourceCrud.create(resource1, resource2, resource3);
+
+        final List<Resource> found = resourceCrud.find(Filters.and(
+                Filters.or(Filters.eq("id", resource1.getId()), Filters.eq("id", resource2.getId()), Filters.eq("id", resource3.getId())),
+                Filters.gte("id", resource1.getId()),
+                Filters.gt("id", resource1.getId()),
+                Filters.search("")
+        ));
+
+        assertThat(found.stream().map(Resource::getId))
+                .containsExactlyInAnyOrder(resource2.getId(), resource3.getId());
+    }
+
+    @Test
+    void can_UpdateAndDeleteItems_inBulk() {
+        final Resource resource1 = validObject();
+        final Resource resource2 = validObject();
+        final Resource resource3 = validObject();
+
+        resourceCrud.create(resource1, resource2, resource3);
+
+        resource1.setTextField("bulkUpdate");
+        resource2.setTextField("bulkUpdate");
+        resourceCrud.update(List.of(resource1, resource2));
+
+        assertThat(resourceCrud.getByIds(List.of(resource1.getId(), resource2.getId())).stream().map(Resource::getTextField))
+                .containsExactly("bulkUpdate", "bulkUpdate");
+
+        final long count = resourceCrud.count();
+        resourceCrud.delete(List.of(resource1.getId(), resource3.getId()));
+
+        assertThat(resourceCrud.count()).isEqualTo(count - 2);
+        assertThat(resourceCrud.getById(resource2.getId())).isPresent();
+    }
+
+    @Test
+    void can_FindItems_inPages_withCursor() throws IOException, UnirestException {
+        final Resource resource1 = validObject();
+        final Resource resource2 = validObject();
+        final Resource resource3 = validObject();
+
+        resource1.setTextField("keyset");
+        resource2.setTextField("keyset");
+        resource3.setTextField("keyset");
+
+        resourceCrud.create(resource3, resource1, resource2);
+
+        final HttpResponse<String> firstPage = Unirest.get(elepy + "/resources?textField_equals=keyset&sort=textField&pageSize=2&cursor=").asString();
+        final String cursor = firstPage.getHeaders().getFirst("X-Next-Cursor");
+
+        assertThat(firstPage.getStatus()).as(firstPage.getBody()).isEqualTo(200);
+        assertThat(ids(firstPage.getBody())).containsExactly(resource1.getId(), resource2.getId());
+        assertThat(cursor).isNotBlank();
+
+        final HttpResponse<String> secondPage = Unirest.get(elepy + "/resources?textField_equals=keyset&sort=textField&pageSize=2&cursor=" + cursor).asString();
+
+        assertThat(secondPage.getStatus()).as(secondPage.getBody()).isEqualTo(200);
+        assertThat(ids(secondPage.getBody())).containsExactly(resource3.getId());
+        assertThat(secondPage.getHeaders().getFirst("X-Next-Cursor")).isNull();
+    }
+
+    private List<JsonNode> ndjson(String body) throws IOException {
+        final List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(elepy.objectMapper().readTree(line));
+        }
+        return lines;
+    }
+
+    private List<Integer> ids(String body) throws IOException {
+        final List<Resource> resources = elepy.objectMapper().readValue(body, new TypeReference<List<Resource>>() {
+        });
+        return resources.stream().map(Resource::getId).collect(Collectors.toList());
+    }
+
     private synchronized Resource validObject() {
         Resource resource = new Resource();
 